@@ -0,0 +1,192 @@
+package me.lime.lightCore.api.command;
+
+import me.lime.lightCore.api.messaging.Message;
+import me.lime.lightCore.api.util.ActionProfiler;
+import me.lime.lightCore.api.util.LockProfiler;
+import me.lime.lightCore.api.util.TaskProfiler;
+import me.lime.lightCore.api.util.TimingHistogram;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.command.TabExecutor;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Ready-made command for inspecting LightCore profilers
+ *
+ * Register it in your plugin:
+ * getCommand("lcprofile").setExecutor(new ProfilerCommand("myplugin.profile"));
+ *
+ * Usage:
+ * - /lcprofile actions [enable|disable|reset]
+ * - /lcprofile locks [enable|disable|reset]
+ * - /lcprofile tasks [enable|disable|reset]
+ */
+public final class ProfilerCommand implements TabExecutor {
+
+    private static final int TOP = 10;
+
+    private final String permission;
+
+    /**
+     * Create the profiler command
+     * @param permission Permission required to use it
+     */
+    public ProfilerCommand(@NotNull String permission) {
+        this.permission = permission;
+    }
+
+    @Override
+    public boolean onCommand(@NotNull CommandSender sender, @NotNull Command command,
+                             @NotNull String label, @NotNull String[] args) {
+        if (!sender.hasPermission(permission)) {
+            Message.chat(sender, "&cYou don't have permission to do that.");
+            return true;
+        }
+
+        if (args.length == 0) {
+            Message.chat(sender, "&7Usage: /" + label + " <actions|locks|tasks> [enable|disable|reset]");
+            return true;
+        }
+
+        String action = args.length > 1 ? args[1].toLowerCase() : "show";
+
+        switch (args[0].toLowerCase()) {
+            case "actions" -> actions(sender, action);
+            case "locks" -> locks(sender, action);
+            case "tasks" -> tasks(sender, action);
+            default -> Message.chat(sender, "&cUnknown profiler: " + args[0]);
+        }
+        return true;
+    }
+
+    @Override
+    public List<String> onTabComplete(@NotNull CommandSender sender, @NotNull Command command,
+                                      @NotNull String alias, @NotNull String[] args) {
+        if (!sender.hasPermission(permission)) return Collections.emptyList();
+
+        return switch (args.length) {
+            case 1 -> CommandHelper.filter(List.of("actions", "locks", "tasks"), args[0]);
+            case 2 -> CommandHelper.filter(List.of("enable", "disable", "reset"), args[1]);
+            default -> Collections.emptyList();
+        };
+    }
+
+    private void actions(@NotNull CommandSender sender, @NotNull String action) {
+        switch (action) {
+            case "enable" -> {
+                ActionProfiler.enable();
+                Message.chat(sender, "&aAction profiler enabled.");
+            }
+            case "disable" -> {
+                ActionProfiler.disable();
+                Message.chat(sender, "&eAction profiler disabled.");
+            }
+            case "reset" -> {
+                ActionProfiler.reset();
+                Message.chat(sender, "&aAction profiler data cleared.");
+            }
+            default -> {
+                Message.chat(sender, "&6Action profiler &7(" + (ActionProfiler.isEnabled() ? "&aenabled" : "&cdisabled")
+                        + "&7, slow threshold " + ActionProfiler.getSlowThreshold() + "ms)");
+
+                Message.chat(sender, "&eTop action types:");
+                for (Map.Entry<String, ActionProfiler.Stats> entry : ActionProfiler.top(ActionProfiler.getTypeStats(), TOP)) {
+                    sendStats(sender, entry.getKey(), entry.getValue());
+                }
+
+                Message.chat(sender, "&eTop programs:");
+                for (Map.Entry<String, ActionProfiler.Stats> entry : ActionProfiler.top(ActionProfiler.getProgramStats(), TOP)) {
+                    sendStats(sender, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void locks(@NotNull CommandSender sender, @NotNull String action) {
+        switch (action) {
+            case "enable" -> {
+                LockProfiler.enable();
+                Message.chat(sender, "&aLock profiler enabled.");
+            }
+            case "disable" -> {
+                LockProfiler.disable();
+                Message.chat(sender, "&eLock profiler disabled.");
+            }
+            case "reset" -> {
+                LockProfiler.reset();
+                Message.chat(sender, "&aLock profiler data cleared.");
+            }
+            default -> {
+                Message.chat(sender, "&6Lock profiler &7(" + (LockProfiler.isEnabled() ? "&aenabled" : "&cdisabled")
+                        + "&7, long hold threshold " + LockProfiler.getLongHoldThreshold() + "ms)");
+
+                for (Map.Entry<String, LockProfiler.Family> entry : LockProfiler.getFamilies().entrySet()) {
+                    LockProfiler.Family family = entry.getValue();
+                    Message.chat(sender, " &f" + entry.getKey() + " &7locks=" + family.getAcquisitions()
+                            + " contended=" + family.getContended()
+                            + " wait p95=" + TimingHistogram.format(family.getWaits().getPercentileNanos(95))
+                            + " max=" + TimingHistogram.format(family.getWaits().getMaxNanos())
+                            + " hold p95=" + TimingHistogram.format(family.getHolds().getPercentileNanos(95))
+                            + " max=" + TimingHistogram.format(family.getHolds().getMaxNanos())
+                            + (family.getLongHolds() > 0 ? " &clong=" + family.getLongHolds() : ""));
+                }
+
+                Message.chat(sender, "&eMost contended keys:");
+                for (Map.Entry<UUID, Long> entry : LockProfiler.topContended(TOP)) {
+                    Player player = Bukkit.getPlayer(entry.getKey());
+                    String name = player != null ? player.getName() : entry.getKey().toString();
+                    Message.chat(sender, " &f" + name + " &7contended=" + entry.getValue());
+                }
+            }
+        }
+    }
+
+    private void tasks(@NotNull CommandSender sender, @NotNull String action) {
+        switch (action) {
+            case "enable" -> {
+                TaskProfiler.enable();
+                Message.chat(sender, "&aTask profiler enabled.");
+            }
+            case "disable" -> {
+                TaskProfiler.disable();
+                Message.chat(sender, "&eTask profiler disabled.");
+            }
+            case "reset" -> {
+                TaskProfiler.reset();
+                Message.chat(sender, "&aTask profiler data cleared.");
+            }
+            default -> {
+                Message.chat(sender, "&6Task profiler &7(" + (TaskProfiler.isEnabled() ? "&aenabled" : "&cdisabled")
+                        + "&7, slow threshold " + TaskProfiler.getSlowThreshold() + "ms, tick overruns "
+                        + TaskProfiler.getTickOverruns() + ")");
+
+                Message.chat(sender, "&eTop tasks (last " + TaskProfiler.getWindow() + "-" + TaskProfiler.getWindow() * 2 + "s):");
+                for (Map.Entry<String, TaskProfiler.Site> entry : TaskProfiler.topOffenders(TOP)) {
+                    TaskProfiler.Site site = entry.getValue();
+                    TimingHistogram timings = site.getTimings();
+                    Message.chat(sender, " &f" + entry.getKey() + " &7recent=" + TimingHistogram.format(site.getRecentNanos())
+                            + " runs=" + timings.getCount()
+                            + " p95=" + TimingHistogram.format(timings.getPercentileNanos(95))
+                            + " max=" + TimingHistogram.format(timings.getMaxNanos())
+                            + (site.getSlowCount() > 0 ? " &cslow=" + site.getSlowCount() : ""));
+                }
+            }
+        }
+    }
+
+    private void sendStats(@NotNull CommandSender sender, @NotNull String name, @NotNull ActionProfiler.Stats stats) {
+        TimingHistogram timings = stats.getTimings();
+        Message.chat(sender, " &f" + name + " &7runs=" + stats.getExecutions()
+                + " mean=" + TimingHistogram.format(timings.getMeanNanos())
+                + " p95=" + TimingHistogram.format(timings.getPercentileNanos(95))
+                + " max=" + TimingHistogram.format(timings.getMaxNanos())
+                + (stats.getSlowCount() > 0 ? " &cslow=" + stats.getSlowCount() : ""));
+    }
+}
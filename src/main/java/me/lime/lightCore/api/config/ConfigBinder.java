@@ -0,0 +1,441 @@
+package me.lime.lightCore.api.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Maps config sections onto records or interfaces (see {@link ConfigService#bind(Class)})
+ *
+ * A record component or interface method named {@code maxPlayers} is read from
+ * {@code maxPlayers}, {@code max-players} or {@code max_players}, unless {@link Key} says otherwise.
+ * Supported types: primitives and their wrappers, String, enums, UUID, List, Set, Map with String
+ * keys, Optional, nested records and interfaces, and anything the section already holds as that
+ * type (Location, ItemStack, Vector). All problems are collected and reported together.
+ *
+ * <pre>
+ * public record Settings(
+ *         {@literal @}ConfigBinder.Range(min = 1, max = 100) int maxPlayers,
+ *         {@literal @}ConfigBinder.Default("true") boolean pvp,
+ *         List&lt;String&gt; blockedWorlds,
+ *         Database database) {}
+ * </pre>
+ */
+public final class ConfigBinder {
+
+    private ConfigBinder() {}
+
+    /**
+     * Read the value from this key instead of the name-derived ones
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.RECORD_COMPONENT, ElementType.METHOD})
+    public @interface Key {
+        String value();
+    }
+
+    /**
+     * Value used when the key is missing, converted like a config string
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.RECORD_COMPONENT, ElementType.METHOD})
+    public @interface Default {
+        String value();
+    }
+
+    /**
+     * Inclusive bounds for a numeric value
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target({ElementType.RECORD_COMPONENT, ElementType.METHOD})
+    public @interface Range {
+        double min() default -Double.MAX_VALUE;
+        double max() default Double.MAX_VALUE;
+    }
+
+    /**
+     * Map a section onto a record or interface
+     * @param section The section (a ConfigurationSection or Map), or null if missing
+     * @param type The record or interface type
+     * @param path The section path, used in error messages ("" for the root)
+     * @return The immutable bound object
+     * @throws IllegalArgumentException listing every missing or invalid value
+     */
+    @NotNull
+    static <T> T bind(@Nullable Object section, @NotNull Class<T> type, @NotNull String path) {
+        List<String> errors = new ArrayList<>();
+        Object result = object(section, type, path, errors);
+        if (!errors.isEmpty() || result == null) {
+            throw new IllegalArgumentException("Cannot bind " + type.getSimpleName() + ":\n - " + String.join("\n - ", errors));
+        }
+        return type.cast(result);
+    }
+
+    // ==================== Objects ====================
+
+    @Nullable
+    private static Object object(@Nullable Object section, @NotNull Class<?> type, @NotNull String path,
+                                 @NotNull List<String> errors) {
+        if (!(section instanceof ConfigurationSection) && !(section instanceof Map<?, ?>)) {
+            errors.add(describe(path) + ": expected a section" + (section == null ? "" : " but found " + section));
+            return null;
+        }
+        if (type.isRecord()) return record(section, type, path, errors);
+        if (type.isInterface()) return proxy(section, type, path, errors);
+
+        errors.add(type.getName() + " must be a record or an interface");
+        return null;
+    }
+
+    @Nullable
+    private static Object record(@NotNull Object section, @NotNull Class<?> type, @NotNull String path,
+                                 @NotNull List<String> errors) {
+        RecordComponent[] components = type.getRecordComponents();
+        Class<?>[] types = new Class<?>[components.length];
+        Object[] args = new Object[components.length];
+        int before = errors.size();
+
+        for (int i = 0; i < components.length; i++) {
+            RecordComponent component = components[i];
+            types[i] = component.getType();
+            args[i] = member(section, component, component.getName(), component.getType(),
+                    component.getGenericType(), path, errors);
+        }
+        if (errors.size() > before) return null;
+
+        try {
+            Constructor<?> constructor = type.getDeclaredConstructor(types);
+            constructor.setAccessible(true);
+            return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+            // Validation in a compact constructor
+            errors.add(describe(path) + ": " + e.getCause().getMessage());
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            errors.add(describe(path) + ": cannot create " + type.getSimpleName() + " (" + e + ")");
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object proxy(@NotNull Object section, @NotNull Class<?> type, @NotNull String path,
+                                @NotNull List<String> errors) {
+        Map<Method, Object> values = new HashMap<>();
+        int before = errors.size();
+
+        for (Method method : type.getMethods()) {
+            if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) continue;
+            // Default methods supply their own value when the key is missing
+            if (method.isDefault() && find(section, method, method.getName()) == null
+                    && method.getAnnotation(Default.class) == null) continue;
+
+            values.put(method, member(section, method, method.getName(), method.getReturnType(),
+                    method.getGenericReturnType(), path, errors));
+        }
+        if (errors.size() > before) return null;
+
+        Map<Method, Object> bound = Collections.unmodifiableMap(values);
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object value = bound.get(method);
+            if (value != null) return value;
+            if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+
+            return switch (method.getName()) {
+                case "toString" -> type.getSimpleName() + bound.values();
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+    }
+
+    @Nullable
+    private static Object member(@NotNull Object section, @NotNull AnnotatedElement element, @NotNull String name,
+                                 @NotNull Class<?> raw, @NotNull Type generic, @NotNull String path,
+                                 @NotNull List<String> errors) {
+        Key key = element.getAnnotation(Key.class);
+        String found = find(section, element, name);
+        String childPath = join(path, found != null ? found : key != null ? key.value() : kebab(name));
+        Object value = found != null ? lookup(section, found) : null;
+
+        if (value == null) {
+            Default def = element.getAnnotation(Default.class);
+            if (def != null) {
+                value = def.value();
+            } else if (raw == Optional.class) {
+                return Optional.empty();
+            } else if (raw == List.class || raw == Collection.class) {
+                return List.of();
+            } else if (raw == Set.class) {
+                return Set.of();
+            } else if (raw == Map.class) {
+                return Map.of();
+            } else if (raw.isRecord() || (raw.isInterface() && !raw.getName().startsWith("java."))) {
+                // A missing nested section binds if all of its values have defaults
+                value = Map.of();
+            } else {
+                errors.add(childPath + ": missing");
+                return null;
+            }
+        }
+
+        Object converted = convert(value, raw, generic, childPath, errors);
+
+        Range range = element.getAnnotation(Range.class);
+        if (range != null && converted instanceof Number number
+                && (number.doubleValue() < range.min() || number.doubleValue() > range.max())) {
+            errors.add(childPath + ": " + number + " is outside " + format(range.min()) + ".." + format(range.max()));
+        }
+        return converted;
+    }
+
+    @Nullable
+    private static String find(@NotNull Object section, @NotNull AnnotatedElement element, @NotNull String name) {
+        Key key = element.getAnnotation(Key.class);
+        if (key != null) return lookup(section, key.value()) != null ? key.value() : null;
+
+        for (String candidate : new LinkedHashSet<>(List.of(name, kebab(name), kebab(name).replace('-', '_')))) {
+            if (lookup(section, candidate) != null) return candidate;
+        }
+        return null;
+    }
+
+    @Nullable
+    private static Object lookup(@NotNull Object section, @NotNull String key) {
+        if (section instanceof ConfigurationSection config) return config.get(key);
+        return ((Map<?, ?>) section).get(key);
+    }
+
+    // ==================== Conversion ====================
+
+    @Nullable
+    private static Object convert(@NotNull Object value, @NotNull Class<?> raw, @NotNull Type generic,
+                                  @NotNull String path, @NotNull List<String> errors) {
+        Class<?> boxed = box(raw);
+
+        if (raw == Optional.class) {
+            Type inner = typeArgument(generic, 0);
+            Object converted = convert(value, rawType(inner), inner, path, errors);
+            return converted != null ? Optional.of(converted) : null;
+        }
+        if (raw == List.class || raw == Collection.class || raw == Set.class) {
+            return collection(value, raw == Set.class, typeArgument(generic, 0), path, errors);
+        }
+        if (raw == Map.class) {
+            return map(value, typeArgument(generic, 1), path, errors);
+        }
+        if (Number.class.isAssignableFrom(boxed)) {
+            return number(value, boxed, path, errors);
+        }
+        if (boxed == Boolean.class) {
+            if (value instanceof Boolean) return value;
+            if (value instanceof String text && (text.equalsIgnoreCase("true") || text.equalsIgnoreCase("false"))) {
+                return Boolean.parseBoolean(text);
+            }
+            return mismatch(value, "true or false", path, errors);
+        }
+        if (raw == String.class) {
+            if (value instanceof ConfigurationSection || value instanceof Map<?, ?> || value instanceof Collection<?>) {
+                return mismatch(value, "text", path, errors);
+            }
+            return value.toString();
+        }
+        if (boxed == Character.class) {
+            String text = value.toString();
+            return text.length() == 1 ? text.charAt(0) : mismatch(value, "a single character", path, errors);
+        }
+        if (raw.isEnum()) {
+            String name = value.toString().trim().replace('-', '_').replace(' ', '_');
+            for (Object constant : raw.getEnumConstants()) {
+                if (((Enum<?>) constant).name().equalsIgnoreCase(name)) return constant;
+            }
+            return mismatch(value, "one of " + List.of(raw.getEnumConstants()), path, errors);
+        }
+        if (raw == UUID.class) {
+            try {
+                return UUID.fromString(value.toString().trim());
+            } catch (IllegalArgumentException e) {
+                return mismatch(value, "a UUID", path, errors);
+            }
+        }
+        if (raw.isRecord() || (raw.isInterface() && !raw.getName().startsWith("java."))) {
+            return object(value, raw, path, errors);
+        }
+        if (raw.isInstance(value)) {
+            return value;
+        }
+        return mismatch(value, raw.getSimpleName(), path, errors);
+    }
+
+    @Nullable
+    private static Object collection(@NotNull Object value, boolean set, @NotNull Type element,
+                                     @NotNull String path, @NotNull List<String> errors) {
+        if (!(value instanceof List<?> list)) {
+            return mismatch(value, "a list", path, errors);
+        }
+
+        Class<?> elementType = rawType(element);
+        List<Object> converted = new ArrayList<>(list.size());
+        for (int i = 0; i < list.size(); i++) {
+            Object item = list.get(i);
+            String itemPath = path + "[" + i + "]";
+            if (item == null) {
+                errors.add(itemPath + ": missing");
+                continue;
+            }
+            Object result = convert(item, elementType, element, itemPath, errors);
+            if (result != null) converted.add(result);
+        }
+        return set ? Collections.unmodifiableSet(new LinkedHashSet<>(converted)) : List.copyOf(converted);
+    }
+
+    @Nullable
+    private static Object map(@NotNull Object value, @NotNull Type valueType, @NotNull String path,
+                              @NotNull List<String> errors) {
+        Map<String, Object> source = new LinkedHashMap<>();
+        if (value instanceof ConfigurationSection section) {
+            for (String key : section.getKeys(false)) {
+                source.put(key, section.get(key));
+            }
+        } else if (value instanceof Map<?, ?> map) {
+            map.forEach((k, v) -> source.put(String.valueOf(k), v));
+        } else {
+            return mismatch(value, "a section", path, errors);
+        }
+
+        Class<?> rawValue = rawType(valueType);
+        Map<String, Object> converted = new LinkedHashMap<>();
+        source.forEach((key, item) -> {
+            String itemPath = join(path, key);
+            if (item == null) {
+                errors.add(itemPath + ": missing");
+                return;
+            }
+            Object result = convert(item, rawValue, valueType, itemPath, errors);
+            if (result != null) converted.put(key, result);
+        });
+        return Collections.unmodifiableMap(converted);
+    }
+
+    @Nullable
+    private static Object number(@NotNull Object value, @NotNull Class<?> boxed, @NotNull String path,
+                                 @NotNull List<String> errors) {
+        BigDecimal decimal;
+        try {
+            decimal = value instanceof Number || value instanceof String ? new BigDecimal(value.toString().trim()) : null;
+        } catch (NumberFormatException e) {
+            decimal = null;
+        }
+        if (decimal == null) return mismatch(value, "a number", path, errors);
+
+        try {
+            if (boxed == Integer.class) return decimal.intValueExact();
+            if (boxed == Long.class) return decimal.longValueExact();
+            if (boxed == Short.class) return decimal.shortValueExact();
+            if (boxed == Byte.class) return decimal.byteValueExact();
+        } catch (ArithmeticException e) {
+            return mismatch(value, "a whole " + boxed.getSimpleName().toLowerCase(Locale.ROOT), path, errors);
+        }
+        if (boxed == Float.class) return decimal.floatValue();
+        if (boxed == Double.class) return decimal.doubleValue();
+        return mismatch(value, boxed.getSimpleName(), path, errors);
+    }
+
+    @Nullable
+    private static Object mismatch(@NotNull Object value, @NotNull String expected, @NotNull String path,
+                                   @NotNull List<String> errors) {
+        errors.add(describe(path) + ": expected " + expected + " but found '" + value + "'");
+        return null;
+    }
+
+    // ==================== Helpers ====================
+
+    @NotNull
+    private static Class<?> box(@NotNull Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == short.class) return Short.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        return type;
+    }
+
+    @NotNull
+    private static Type typeArgument(@NotNull Type type, int index) {
+        if (type instanceof ParameterizedType parameterized && parameterized.getActualTypeArguments().length > index) {
+            Type argument = parameterized.getActualTypeArguments()[index];
+            if (argument instanceof WildcardType wildcard) return wildcard.getUpperBounds()[0];
+            return argument;
+        }
+        return Object.class;
+    }
+
+    @NotNull
+    private static Class<?> rawType(@NotNull Type type) {
+        if (type instanceof Class<?> clazz) return clazz;
+        if (type instanceof ParameterizedType parameterized) return (Class<?>) parameterized.getRawType();
+        return Object.class;
+    }
+
+    @NotNull
+    private static String kebab(@NotNull String name) {
+        StringBuilder builder = new StringBuilder(name.length() + 4);
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isUpperCase(c)) {
+                if (i > 0) builder.append('-');
+                builder.append(Character.toLowerCase(c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    @NotNull
+    private static String join(@NotNull String path, @NotNull String key) {
+        return path.isEmpty() ? key : path + "." + key;
+    }
+
+    @NotNull
+    private static String describe(@NotNull String path) {
+        return path.isEmpty() ? "<root>" : path;
+    }
+
+    @NotNull
+    private static String format(double bound) {
+        return bound == (long) bound ? String.valueOf((long) bound) : String.valueOf(bound);
+    }
+}
@@ -1,5 +1,6 @@
 package me.lime.lightCore.api.config;
 
+import me.lime.lightCore.api.logging.ConsoleLogger;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.ConfigurationSection;
@@ -27,6 +28,7 @@ public final class ConfigService {
     private final JavaPlugin plugin;
     private final String fileName;
     private final Map<String, Object> cache;
+    private final Map<String, Binding> bindings = new ConcurrentHashMap<>();
     private FileConfiguration config;
     private Path path;
     private File file;
@@ -86,6 +88,7 @@ public final class ConfigService {
 
             // Cache all values
             config.getKeys(true).forEach(key -> cache.put(key, config.get(key)));
+            rebind();
 
         } catch (IOException e) {
             plugin.getLogger().severe("Failed to load config: " + fileName);
@@ -102,6 +105,7 @@ public final class ConfigService {
         config = YamlConfiguration.loadConfiguration(file);
         cache.clear();
         config.getKeys(true).forEach(key -> cache.put(key, config.get(key)));
+        rebind();
     }
 
     /**
@@ -134,6 +138,66 @@ public final class ConfigService {
         return file;
     }
 
+    // ==================== Binding ====================
+
+    /**
+     * Bind the whole config onto a record or interface (see {@link ConfigBinder})
+     *
+     * Values are converted and validated once, and the returned object is reused until the next
+     * {@link #load()} or {@link #reload()}, which re-binds it. If the reloaded file is invalid, the
+     * errors are logged and the previous object is kept.
+     * @param type The record or interface type
+     * @return The bound object
+     * @throws IllegalArgumentException listing every missing or invalid value
+     */
+    @NotNull
+    public <T> T bind(@NotNull Class<T> type) {
+        return bind("", type);
+    }
+
+    /**
+     * Bind a section onto a record or interface (see {@link #bind(Class)})
+     * @param path The section path ("" for the root)
+     * @param type The record or interface type
+     * @return The bound object
+     * @throws IllegalArgumentException listing every missing or invalid value
+     */
+    @NotNull
+    public <T> T bind(@NotNull String path, @NotNull Class<T> type) {
+        Binding binding = bindings.computeIfAbsent(path + ":" + type.getName(),
+                k -> new Binding(path, type, map(path, type)));
+        return type.cast(binding.value);
+    }
+
+    @NotNull
+    private Object map(@NotNull String path, @NotNull Class<?> type) {
+        Object section = path.isEmpty() ? config : config.getConfigurationSection(path);
+        return ConfigBinder.bind(section, type, path);
+    }
+
+    private void rebind() {
+        for (Binding binding : bindings.values()) {
+            try {
+                binding.value = map(binding.path, binding.type);
+            } catch (IllegalArgumentException e) {
+                ConsoleLogger.error(plugin.getName(), "Invalid " + fileName + ", keeping previous "
+                        + binding.type.getSimpleName() + ". " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class Binding {
+        private final String path;
+        private final Class<?> type;
+        private volatile Object value;
+
+        private Binding(@NotNull String path, @NotNull Class<?> type, @NotNull Object value) {
+            this.path = path;
+            this.type = type;
+            this.value = value;
+        }
+    }
+
     // ==================== Basic Getters ====================
 
     /**
@@ -225,19 +289,21 @@ public final class ConfigService {
     // ==================== Numbers ====================
 
     public int getInt(@NotNull String key) {
-        return get(key, 0);
+        return getInt(key, 0);
     }
 
     public int getInt(@NotNull String key, int def) {
-        return get(key, def);
+        Object v = cache.get(key);
+        return v instanceof Number ? ((Number) v).intValue() : def;
     }
 
     public double getDouble(@NotNull String key) {
-        return get(key, 0.0D);
+        return getDouble(key, 0.0D);
     }
 
     public double getDouble(@NotNull String key, double def) {
-        return get(key, def);
+        Object v = cache.get(key);
+        return v instanceof Number ? ((Number) v).doubleValue() : def;
     }
 
     public float getFloat(@NotNull String key) {
@@ -283,11 +349,12 @@ public final class ConfigService {
     // ==================== Boolean ====================
 
     public boolean getBoolean(@NotNull String key) {
-        return get(key, false);
+        return getBoolean(key, false);
     }
 
     public boolean getBoolean(@NotNull String key, boolean def) {
-        return get(key, def);
+        Object v = cache.get(key);
+        return v instanceof Boolean ? (Boolean) v : def;
     }
 
     // ==================== Lists ====================
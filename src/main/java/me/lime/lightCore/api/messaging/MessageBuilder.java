@@ -1,5 +1,6 @@
 package me.lime.lightCore.api.messaging;
 
+import me.lime.lightCore.api.util.SchedulerUtil;
 import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
@@ -202,7 +203,7 @@ public class MessageBuilder {
     }
     
     /**
-     * Set the plugin for async tasks (required for bossbar auto-hide)
+     * Set the plugin for async tasks (bossbar auto-hide without SchedulerUtil.init)
      * @param plugin The plugin instance
      * @return This builder
      */
@@ -313,9 +314,13 @@ public class MessageBuilder {
         
         player.showBossBar(bossbar);
         
-        if (bossbarDuration > 0 && plugin != null) {
-            Bukkit.getScheduler().runTaskLater(plugin, () -> 
-                    player.hideBossBar(bossbar), bossbarDuration);
+        if (bossbarDuration > 0) {
+            if (SchedulerUtil.isInitialized()) {
+                SchedulerUtil.later(() -> player.hideBossBar(bossbar), bossbarDuration);
+            } else if (plugin != null) {
+                Bukkit.getScheduler().runTaskLater(plugin, () ->
+                        player.hideBossBar(bossbar), bossbarDuration);
+            }
         }
     }
     
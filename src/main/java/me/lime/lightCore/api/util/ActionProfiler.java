@@ -0,0 +1,208 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sampling profiler for {@link ActionUtil}
+ *
+ * Records execution counts per action type and per compiled program, and timing
+ * histograms for a sample of executions. Costs a single volatile read while disabled.
+ */
+public final class ActionProfiler {
+
+    private ActionProfiler() {}
+
+    private static final Map<String, Stats> TYPES = new ConcurrentHashMap<>();
+    private static final Map<String, Stats> PROGRAMS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+    private static volatile int sampleEvery = 8;
+    private static volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(5);
+
+    /**
+     * Enable profiling, timing one in every 8 executions
+     */
+    public static void enable() {
+        enable(8);
+    }
+
+    /**
+     * Enable profiling
+     * @param sampleEvery Time one in every N executions (1 = time everything)
+     */
+    public static void enable(int sampleEvery) {
+        ActionProfiler.sampleEvery = Math.max(1, sampleEvery);
+        enabled = true;
+    }
+
+    /**
+     * Disable profiling (recorded data is kept until {@link #reset()})
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Check if profiling is enabled
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set the time after which a program run is flagged as slow
+     * @param millis Threshold in milliseconds
+     */
+    public static void setSlowThreshold(long millis) {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Get the slow program threshold
+     * @return Threshold in milliseconds
+     */
+    public static long getSlowThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    /**
+     * Get statistics per action type (e.g. "[message]")
+     * @return Unmodifiable view of type statistics
+     */
+    @NotNull
+    public static Map<String, Stats> getTypeStats() {
+        return Collections.unmodifiableMap(TYPES);
+    }
+
+    /**
+     * Get statistics per compiled program
+     * @return Unmodifiable view of program statistics
+     */
+    @NotNull
+    public static Map<String, Stats> getProgramStats() {
+        return Collections.unmodifiableMap(PROGRAMS);
+    }
+
+    /**
+     * Get statistics for an action type
+     * @param type The action type (e.g. "[message]")
+     * @return The statistics, or null if never recorded
+     */
+    @Nullable
+    public static Stats getType(@NotNull String type) {
+        return TYPES.get(type.toLowerCase());
+    }
+
+    /**
+     * Get statistics for a compiled program
+     * @param name The program name
+     * @return The statistics, or null if never recorded
+     */
+    @Nullable
+    public static Stats getProgram(@NotNull String name) {
+        return PROGRAMS.get(name);
+    }
+
+    /**
+     * Get the entries with the highest total sampled time
+     * @param stats The statistics map (types or programs)
+     * @param limit Maximum number of entries
+     * @return Entries sorted by total time, highest first
+     */
+    @NotNull
+    public static List<Map.Entry<String, Stats>> top(@NotNull Map<String, Stats> stats, int limit) {
+        List<Map.Entry<String, Stats>> entries = new ArrayList<>(stats.entrySet());
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Stats> e) -> e.getValue().getTimings().getTotalNanos()).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * Clear all recorded data
+     */
+    public static void reset() {
+        TYPES.clear();
+        PROGRAMS.clear();
+    }
+
+    // ==================== Recording ====================
+
+    static boolean sample() {
+        int every = sampleEvery;
+        return every == 1 || ThreadLocalRandom.current().nextInt(every) == 0;
+    }
+
+    static void countType(@NotNull String type) {
+        TYPES.computeIfAbsent(type, k -> new Stats()).executions.increment();
+    }
+
+    static void recordType(@NotNull String type, long nanos) {
+        Stats stats = TYPES.computeIfAbsent(type, k -> new Stats());
+        stats.executions.increment();
+        stats.timings.record(nanos);
+    }
+
+    static void countProgram(@NotNull String name) {
+        PROGRAMS.computeIfAbsent(name, k -> new Stats()).executions.increment();
+    }
+
+    static void recordProgram(@NotNull String name, long nanos, int slowestStep, @Nullable String slowestType) {
+        Stats stats = PROGRAMS.computeIfAbsent(name, k -> new Stats());
+        stats.executions.increment();
+        stats.timings.record(nanos);
+
+        if (nanos >= slowThresholdNanos) {
+            stats.slow.increment();
+            ConsoleLogger.warn("Slow action program '" + name + "' took " + TimingHistogram.format(nanos)
+                    + (slowestType != null ? " (slowest: step " + (slowestStep + 1) + " " + slowestType + ")" : ""));
+        }
+    }
+
+    /**
+     * Execution statistics for an action type or program
+     */
+    public static final class Stats {
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final TimingHistogram timings = new TimingHistogram();
+
+        private Stats() {}
+
+        /**
+         * Get the number of executions while profiling was enabled
+         * @return Execution count
+         */
+        public long getExecutions() {
+            return executions.sum();
+        }
+
+        /**
+         * Get the number of runs flagged as slow (programs only)
+         * @return Slow run count
+         */
+        public long getSlowCount() {
+            return slow.sum();
+        }
+
+        /**
+         * Get the sampled timing histogram
+         * @return The histogram
+         */
+        @NotNull
+        public TimingHistogram getTimings() {
+            return timings;
+        }
+    }
+}
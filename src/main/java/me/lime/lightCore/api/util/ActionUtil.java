@@ -10,7 +10,12 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for executing config-defined actions
@@ -25,6 +30,15 @@ import java.util.List;
  * - [subtitle] &7Subtitle only
  * - [actionbar] &aAction bar message
  * - [sound] ENTITY_PLAYER_LEVELUP
+ *
+ * Flow control:
+ * - [delay] 40 (wait 40 ticks before the next action)
+ * - [repeat] 5;20 (run the next action 5 times, 20 ticks apart)
+ * - [condition] permission;my.perm (stop unless the condition holds, prefix with ! to negate)
+ * - [condition] world;world_nether
+ * - [condition] chance;25
+ *
+ * Delayed sequences are parked on SchedulerUtil's shared timing wheel (not affected by SchedulerUtil.cancelAll).
  */
 public final class ActionUtil {
 
@@ -32,6 +46,8 @@ public final class ActionUtil {
 
     private static boolean papiEnabled = false;
 
+    private static final Map<UUID, Set<Execution>> RUNNING = new ConcurrentHashMap<>();
+
     /**
      * Check if PlaceholderAPI is available
      */
@@ -50,16 +66,102 @@ public final class ActionUtil {
     }
 
     /**
-     * Execute a list of actions from config
+     * Execute a list of actions from config. The list is compiled on every call; for lists run
+     * often, keep the result of {@link #compile(String, List)} instead, which also gives the
+     * program a readable name in {@link ActionProfiler}.
      * @param player The player to execute for
      * @param actions List of action strings
      */
     public static void execute(@NotNull Player player, @NotNull List<String> actions) {
         if (actions.isEmpty()) return;
+        compile(actions).execute(player);
+    }
+
+    /**
+     * Compile a list of actions once so it can be executed many times.
+     * The program is named after its first action plus a hash of the whole list, so lists that
+     * only share their first line are profiled separately.
+     * @param actions List of action strings
+     * @return The compiled program
+     */
+    @NotNull
+    public static Program compile(@NotNull List<String> actions) {
+        if (actions.isEmpty()) return compile("empty", actions);
+        String first = StringUtil.truncate(String.valueOf(actions.get(0)), 48, "...");
+        return compile(first + "#" + Integer.toHexString(actions.hashCode()), actions);
+    }
+
+    /**
+     * Compile a named list of actions (the name is used by {@link ActionProfiler})
+     * @param name The program name (e.g. the config path)
+     * @param actions List of action strings
+     * @return The compiled program
+     */
+    @NotNull
+    public static Program compile(@NotNull String name, @NotNull List<String> actions) {
+        List<Step> steps = new ArrayList<>(actions.size());
+
+        for (String raw : actions) {
+            if (raw == null || raw.isEmpty()) continue;
+
+            int space = raw.indexOf(" ");
+            if (space == -1) continue;
+
+            String type = raw.substring(0, space).toLowerCase();
+            String content = raw.substring(space + 1);
+
+            Step step = switch (type) {
+                case "[delay]" -> compileDelay(content);
+                case "[repeat]" -> compileRepeat(content);
+                case "[condition]" -> compileCondition(content);
+                default -> new Step(StepKind.ACTION, type, content, 0, 0);
+            };
+            if (step != null) steps.add(step);
+        }
+
+        return new Program(name, steps.toArray(new Step[0]));
+    }
+
+    /**
+     * Cancel every delayed action sequence running for a player
+     * @param uuid The player UUID
+     */
+    public static void cancel(@NotNull UUID uuid) {
+        Set<Execution> executions = RUNNING.remove(uuid);
+        if (executions == null) return;
+
+        for (Execution execution : executions) {
+            execution.cancel();
+        }
+    }
+
+    /**
+     * Cancel every delayed action sequence running for a player
+     * @param player The player
+     */
+    public static void cancel(@NotNull Player player) {
+        cancel(player.getUniqueId());
+    }
 
-        for (String action : actions) {
-            perform(action, player);
+    /**
+     * Cancel every delayed action sequence
+     */
+    public static void cancelAll() {
+        for (UUID uuid : RUNNING.keySet()) {
+            cancel(uuid);
+        }
+    }
+
+    /**
+     * Get the number of action sequences currently waiting on a delay
+     * @return Pending sequence count
+     */
+    public static int getPendingCount() {
+        int count = 0;
+        for (Set<Execution> executions : RUNNING.values()) {
+            count += executions.size();
         }
+        return count;
     }
 
     /**
@@ -74,8 +176,19 @@ public final class ActionUtil {
         if (space == -1) return;
 
         String type = raw.substring(0, space).toLowerCase();
-        String rawContent = raw.substring(space + 1);
+        String content = raw.substring(space + 1);
+
+        if (ActionProfiler.isEnabled() && ActionProfiler.sample()) {
+            long start = System.nanoTime();
+            perform(type, content, player);
+            ActionProfiler.recordType(type, System.nanoTime() - start);
+        } else {
+            if (ActionProfiler.isEnabled()) ActionProfiler.countType(type);
+            perform(type, content, player);
+        }
+    }
 
+    private static void perform(@NotNull String type, @NotNull String rawContent, @NotNull Player player) {
         switch (type) {
             case "[playercommand]" -> {
                 String command = parse(player, rawContent.replace("<player>", player.getName()));
@@ -154,7 +267,273 @@ public final class ActionUtil {
                 }
             }
 
+            case "[delay]", "[repeat]", "[condition]" ->
+                    ConsoleLogger.warn("Flow action " + type + " only works inside an action list");
+
             default -> ConsoleLogger.warn("Unknown action type: " + type);
         }
     }
+
+    // ==================== Flow Control ====================
+
+    @Nullable
+    private static Step compileDelay(@NotNull String content) {
+        try {
+            return new Step(StepKind.DELAY, "[delay]", content, Math.max(1L, Long.parseLong(content.trim())), 0);
+        } catch (NumberFormatException e) {
+            ConsoleLogger.warn("Invalid delay in action: " + content);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Step compileRepeat(@NotNull String content) {
+        String[] split = content.split(";", 2);
+        try {
+            long times = Long.parseLong(split[0].trim());
+            long interval = split.length > 1 ? Long.parseLong(split[1].trim()) : 1L;
+            return new Step(StepKind.REPEAT, "[repeat]", content, Math.max(1L, times), Math.max(1L, interval));
+        } catch (NumberFormatException e) {
+            ConsoleLogger.warn("Invalid repeat format in action: " + content);
+            return null;
+        }
+    }
+
+    @Nullable
+    private static Step compileCondition(@NotNull String content) {
+        String[] split = content.split(";", 2);
+        if (split.length != 2) {
+            ConsoleLogger.warn("Invalid condition format in action: " + content);
+            return null;
+        }
+
+        String kind = split[0].trim().toLowerCase();
+        boolean negate = kind.startsWith("!");
+        if (negate) kind = kind.substring(1);
+
+        if (!kind.equals("permission") && !kind.equals("world") && !kind.equals("chance")) {
+            ConsoleLogger.warn("Unknown condition type: " + kind);
+            return null;
+        }
+
+        return new Step(StepKind.CONDITION, kind, split[1].trim(), negate ? 1 : 0, 0);
+    }
+
+    private static boolean test(@NotNull Step step, @NotNull Player player) {
+        boolean result = switch (step.type) {
+            case "permission" -> player.hasPermission(step.content);
+            case "world" -> player.getWorld().getName().equalsIgnoreCase(step.content);
+            case "chance" -> {
+                try {
+                    yield MathUtil.chance(Double.parseDouble(step.content));
+                } catch (NumberFormatException e) {
+                    ConsoleLogger.warn("Invalid chance format in condition: " + step.content);
+                    yield false;
+                }
+            }
+            default -> false;
+        };
+        return step.a == 1 ? !result : result;
+    }
+
+    private enum StepKind {
+        ACTION, DELAY, REPEAT, CONDITION
+    }
+
+    /**
+     * A compiled action step. For DELAY a = ticks, for REPEAT a = times and b = interval,
+     * for CONDITION type is the condition kind and a = 1 when negated.
+     */
+    private record Step(StepKind kind, String type, String content, long a, long b) {}
+
+    /**
+     * An action list parsed once and ready to execute
+     */
+    public static final class Program {
+        private final String name;
+        private final Step[] steps;
+
+        private Program(@NotNull String name, @NotNull Step[] steps) {
+            this.name = name;
+            this.steps = steps;
+        }
+
+        /**
+         * Get the program name
+         * @return The name used for profiling
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Execute this program for a player
+         * @param player The player to execute for
+         */
+        public void execute(@NotNull Player player) {
+            if (steps.length == 0) return;
+            new Execution(this, player).run();
+        }
+
+        /**
+         * Get the number of compiled steps
+         * @return Step count
+         */
+        public int size() {
+            return steps.length;
+        }
+    }
+
+    /**
+     * A running program. Resumed by the timing wheel after a delay or repeat interval.
+     */
+    private static final class Execution implements Runnable {
+        private final String name;
+        private final Step[] steps;
+        private final Player player;
+        private boolean profiled;
+        private boolean sampled;
+        private long activeNanos;
+        private long segmentStart;
+        private boolean inSegment;
+        private long slowestNanos;
+        private int slowestStep;
+        private int pc;
+        private long repeatsLeft;
+        private long repeatInterval;
+        private volatile TimingWheel.Handle pending;
+        private volatile boolean cancelled;
+
+        private Execution(@NotNull Program program, @NotNull Player player) {
+            this.name = program.name;
+            this.steps = program.steps;
+            this.player = player;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+            if (pending != null) {
+                pending = null;
+                if (!player.isOnline()) {
+                    finish();
+                    return;
+                }
+            }
+
+            if (pc == 0 && repeatsLeft == 0) {
+                // Program start: later runs are resumes after a delay and belong to the same execution
+                profiled = ActionProfiler.isEnabled();
+                sampled = profiled && ActionProfiler.sample();
+                activeNanos = 0;
+                slowestNanos = -1;
+            }
+
+            if (!sampled) {
+                step();
+                return;
+            }
+
+            segmentStart = System.nanoTime();
+            inSegment = true;
+            step();
+            endSegment();
+        }
+
+        private void endSegment() {
+            if (!inSegment) return;
+            inSegment = false;
+            activeNanos += System.nanoTime() - segmentStart;
+        }
+
+        private void step() {
+            while (pc < steps.length) {
+                if (repeatsLeft > 0) {
+                    performStep();
+                    if (--repeatsLeft > 0) {
+                        suspend(repeatInterval);
+                        return;
+                    }
+                    pc++;
+                    continue;
+                }
+
+                Step step = steps[pc];
+                switch (step.kind) {
+                    case ACTION -> {
+                        performStep();
+                        pc++;
+                    }
+                    case DELAY -> {
+                        pc++;
+                        suspend(step.a);
+                        return;
+                    }
+                    case REPEAT -> {
+                        pc++;
+                        if (pc < steps.length && steps[pc].kind == StepKind.ACTION) {
+                            repeatsLeft = step.a;
+                            repeatInterval = step.b;
+                        }
+                    }
+                    case CONDITION -> {
+                        if (!test(step, player)) {
+                            finish();
+                            return;
+                        }
+                        pc++;
+                    }
+                }
+            }
+
+            finish();
+        }
+
+        private void performStep() {
+            Step step = steps[pc];
+            if (!sampled) {
+                if (ActionProfiler.isEnabled()) ActionProfiler.countType(step.type);
+                perform(step.type, step.content, player);
+                return;
+            }
+
+            long start = System.nanoTime();
+            perform(step.type, step.content, player);
+            long nanos = System.nanoTime() - start;
+
+            ActionProfiler.recordType(step.type, nanos);
+            if (nanos > slowestNanos) {
+                slowestNanos = nanos;
+                slowestStep = pc;
+            }
+        }
+
+        private void suspend(long ticks) {
+            RUNNING.computeIfAbsent(player.getUniqueId(), k -> ConcurrentHashMap.newKeySet()).add(this);
+            pending = SchedulerUtil.internalLater(this, ticks);
+        }
+
+        private void finish() {
+            Set<Execution> executions = RUNNING.get(player.getUniqueId());
+            if (executions != null && executions.remove(this) && executions.isEmpty()) {
+                RUNNING.remove(player.getUniqueId(), executions);
+            }
+
+            // Recorded once per execution, with the time spent in steps across every resume
+            if (sampled) {
+                endSegment();
+                ActionProfiler.recordProgram(name, activeNanos, slowestStep,
+                        slowestNanos >= 0 ? steps[slowestStep].type : null);
+            } else if (profiled) {
+                ActionProfiler.countProgram(name);
+            }
+        }
+
+        private void cancel() {
+            cancelled = true;
+            TimingWheel.Handle handle = pending;
+            if (handle != null) handle.cancel();
+        }
+    }
 }
@@ -1,9 +1,16 @@
 package me.lime.lightCore.api.util;
 
 import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
 /**
  * Utility class for dispatching commands
  */
@@ -11,6 +18,8 @@ public final class CommandDispatchUtil {
 
     private CommandDispatchUtil() {}
 
+    private static final DispatchQueue QUEUE = DispatchQueue.create();
+
     /**
      * Create a command builder
      * @param command The command template (use <player> for player name)
@@ -21,6 +30,16 @@ public final class CommandDispatchUtil {
         return new Builder(command);
     }
 
+    /**
+     * Prepare a command for repeated direct execution
+     * @param command The command line (use <player> for player name)
+     * @return The prepared command
+     */
+    @NotNull
+    public static PreparedCommand prepare(@NotNull String command) {
+        return PreparedCommand.of(command);
+    }
+
     /**
      * Execute a command as console immediately
      * @param command The command to execute
@@ -29,6 +48,25 @@ public final class CommandDispatchUtil {
         Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
     }
 
+    /**
+     * Get the shared dispatch queue used by queued builders
+     * @return The shared DispatchQueue
+     */
+    @NotNull
+    public static DispatchQueue queue() {
+        return QUEUE;
+    }
+
+    /**
+     * Queue console commands to run across ticks within the shared queue's budget
+     * @param commands The commands to execute
+     * @return The batch (use getFuture() to wait for completion)
+     */
+    @NotNull
+    public static DispatchQueue.Batch consoleQueued(@NotNull Collection<String> commands) {
+        return QUEUE.submit(commands);
+    }
+
     /**
      * Execute a command as a player immediately
      * @param player The player
@@ -45,6 +83,10 @@ public final class CommandDispatchUtil {
         private final String template;
         private boolean console = false;
         private long delay = 0;
+        private DispatchQueue.Priority priority;
+        private PreparedCommand prepared;
+        private String[] parts;
+        private int perTick;
 
         private Builder(@NotNull String template) {
             this.template = template;
@@ -81,39 +123,229 @@ public final class CommandDispatchUtil {
             return this;
         }
 
+        /**
+         * Run through the shared dispatch queue instead of scheduling a task per command
+         * @param priority The batch priority
+         * @return This builder
+         */
+        @NotNull
+        public Builder queued(@NotNull DispatchQueue.Priority priority) {
+            this.priority = priority;
+            return this;
+        }
+
+        /**
+         * Run through the shared dispatch queue with normal priority
+         * @return This builder
+         */
+        @NotNull
+        public Builder queued() {
+            return queued(DispatchQueue.Priority.NORMAL);
+        }
+
+        /**
+         * Invoke the resolved command directly instead of going through Bukkit.dispatchCommand.
+         * The template is parsed once, so keep the builder around when firing it repeatedly.
+         * Skips command preprocess events.
+         * @return This builder
+         */
+        @NotNull
+        public Builder direct() {
+            this.prepared = PreparedCommand.of(template);
+            return this;
+        }
+
+        /**
+         * Spread executeAll over several ticks
+         * @param playersPerTick Maximum players handled per tick (0 = all in one tick)
+         * @return This builder
+         */
+        @NotNull
+        public Builder spread(int playersPerTick) {
+            this.perTick = Math.max(0, playersPerTick);
+            return this;
+        }
+
         /**
          * Execute the command for a player
          * @param player The player (used for <player> replacement and execution)
          */
         public void execute(@NotNull Player player) {
-            String command = template.replace("<player>", player.getName());
+            CommandSender sender = console ? Bukkit.getConsoleSender() : player;
+
+            if (priority != null) {
+                submit(sender, line(player.getName()));
+                return;
+            }
+
+            PreparedCommand command = prepared;
+            if (command != null) {
+                schedule(() -> command.execute(sender, player));
+                return;
+            }
 
-            Runnable task = () -> {
+            String line = line(player.getName());
+            schedule(() -> {
                 if (console) {
-                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), command);
+                    Bukkit.dispatchCommand(sender, line);
                 } else {
-                    player.performCommand(command);
+                    player.performCommand(line);
                 }
-            };
+            });
+        }
 
-            if (delay > 0) {
-                SchedulerUtil.syncLater(task, delay);
+        /**
+         * Execute the command without player context
+         */
+        public void execute() {
+            if (priority != null) {
+                submit(Bukkit.getConsoleSender(), template);
+                return;
+            }
+
+            PreparedCommand command = prepared;
+            if (command != null) {
+                schedule(() -> command.execute(Bukkit.getConsoleSender()));
             } else {
-                SchedulerUtil.sync(task);
+                schedule(() -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), template));
             }
         }
 
         /**
-         * Execute the command without player context
+         * Execute the command for every given player from a single task.
+         * The <player> template is compiled once for the whole batch.
+         * @param players The players
          */
-        public void execute() {
-            Runnable task = () -> Bukkit.dispatchCommand(Bukkit.getConsoleSender(), template);
+        public void executeAll(@NotNull Collection<? extends Player> players) {
+            if (players.isEmpty()) return;
+            Player[] targets = players.toArray(new Player[0]);
+
+            if (priority != null && delay <= 0) {
+                queueAll(targets);
+            } else {
+                schedule(() -> runAll(targets));
+            }
+        }
 
+        /**
+         * Execute the command for every online player matching a filter.
+         * The filter is evaluated on the main thread when the task runs.
+         * @param filter The player filter
+         */
+        public void executeAll(@NotNull Predicate<Player> filter) {
+            schedule(() -> {
+                List<Player> matched = new ArrayList<>();
+                for (Player player : Bukkit.getOnlinePlayers()) {
+                    if (filter.test(player)) matched.add(player);
+                }
+                if (!matched.isEmpty()) runAll(matched.toArray(new Player[0]));
+            });
+        }
+
+        private void runAll(@NotNull Player[] targets) {
+            if (priority != null) {
+                queueAll(targets);
+                return;
+            }
+
+            int chunk = perTick;
+            if (chunk <= 0 || targets.length <= chunk) {
+                runRange(targets, 0, targets.length);
+                return;
+            }
+
+            runRange(targets, 0, chunk);
+            SpreadTask spread = new SpreadTask(targets, chunk);
+            spread.task = SchedulerUtil.syncRepeating(spread, 1L, 1L);
+        }
+
+        private void runRange(@NotNull Player[] targets, int from, int to) {
+            PreparedCommand command = prepared;
+            CommandSender consoleSender = Bukkit.getConsoleSender();
+
+            for (int i = from; i < to; i++) {
+                Player player = targets[i];
+                if (!player.isOnline()) continue;
+
+                CommandSender sender = console ? consoleSender : player;
+                if (command != null) {
+                    command.execute(sender, player);
+                } else {
+                    Bukkit.dispatchCommand(sender, line(player.getName()));
+                }
+            }
+        }
+
+        private void queueAll(@NotNull Player[] targets) {
+            if (console) {
+                List<String> lines = new ArrayList<>(targets.length);
+                for (Player player : targets) {
+                    lines.add(line(player.getName()));
+                }
+                QUEUE.submit(Bukkit.getConsoleSender(), priority, lines);
+            } else {
+                for (Player player : targets) {
+                    QUEUE.submit(player, priority, List.of(line(player.getName())));
+                }
+            }
+        }
+
+        @NotNull
+        private String line(@NotNull String name) {
+            String[] split = parts;
+            if (split == null) {
+                split = template.split("<player>", -1);
+                parts = split;
+            }
+            if (split.length == 1) return template;
+
+            StringBuilder builder = new StringBuilder(template.length() + name.length() * (split.length - 1));
+            builder.append(split[0]);
+            for (int i = 1; i < split.length; i++) {
+                builder.append(name).append(split[i]);
+            }
+            return builder.toString();
+        }
+
+        private void submit(@NotNull CommandSender sender, @NotNull String line) {
+            DispatchQueue.Priority queuePriority = priority;
+            if (delay > 0) {
+                SchedulerUtil.syncLater(() -> QUEUE.submit(sender, queuePriority, List.of(line)), delay);
+            } else {
+                QUEUE.submit(sender, queuePriority, List.of(line));
+            }
+        }
+
+        private void schedule(@NotNull Runnable task) {
             if (delay > 0) {
                 SchedulerUtil.syncLater(task, delay);
             } else {
                 SchedulerUtil.sync(task);
             }
         }
+
+        /**
+         * Runs the remaining players of a spread executeAll, a chunk per tick
+         */
+        private final class SpreadTask implements Runnable {
+            private final Player[] targets;
+            private final int chunk;
+            private int index;
+            private BukkitTask task;
+
+            private SpreadTask(@NotNull Player[] targets, int chunk) {
+                this.targets = targets;
+                this.chunk = chunk;
+                this.index = chunk;
+            }
+
+            @Override
+            public void run() {
+                int end = Math.min(targets.length, index + chunk);
+                runRange(targets, index, end);
+                index = end;
+                if (index >= targets.length && task != null) task.cancel();
+            }
+        }
     }
 }
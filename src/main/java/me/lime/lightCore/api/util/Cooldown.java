@@ -0,0 +1,429 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * Interned handle for a single cooldown key
+ *
+ * Obtain one with {@link CooldownUtil#handle(String)} and keep it in a field: checks skip
+ * the key lookup entirely and read expiries from a primitive UUID-to-long map without
+ * boxing. Reads are lock-free (optimistic) unless they race a writer.
+ *
+ * Expiry callbacks registered with {@link #onExpire(Consumer)} run on the main thread and
+ * are driven by CooldownUtil's shared timing wheel, so pending expirations cost O(1).
+ * Time is read from the clock selected with {@link CooldownUtil#setClock}.
+ */
+public final class Cooldown {
+
+    private static final long ABSENT = Long.MIN_VALUE;
+
+    private final String key;
+    private final UuidLongMap expiries = new UuidLongMap();
+    private final StampedLock lock = new StampedLock();
+    private final List<Consumer<UUID>> expireListeners = new CopyOnWriteArrayList<>();
+    private final Map<UUID, ExpiryTask> pendingExpiry = new ConcurrentHashMap<>();
+    private volatile CooldownStore store;
+
+    Cooldown(@NotNull String key) {
+        this.key = key;
+    }
+
+    /**
+     * Get the cooldown key
+     * @return The key
+     */
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Check if a player is on cooldown
+     * @param uuid The player UUID
+     * @return true if on cooldown
+     */
+    public boolean isOnCooldown(@NotNull UUID uuid) {
+        long expiry = expiry(uuid);
+        if (expiry == ABSENT) return false;
+
+        if (expiry <= CooldownUtil.now()) {
+            removeIfExpired(uuid);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Check if a player is on cooldown
+     * @param player The player
+     * @return true if on cooldown
+     */
+    public boolean isOnCooldown(@NotNull Player player) {
+        return isOnCooldown(player.getUniqueId());
+    }
+
+    /**
+     * Get remaining cooldown time in milliseconds
+     * @param uuid The player UUID
+     * @return Remaining time in ms, or 0 if not on cooldown
+     */
+    public long getRemaining(@NotNull UUID uuid) {
+        long expiry = expiry(uuid);
+        return expiry == ABSENT ? 0L : Math.max(0L, expiry - CooldownUtil.now());
+    }
+
+    /**
+     * Get remaining cooldown time in seconds
+     * @param uuid The player UUID
+     * @return Remaining time in seconds
+     */
+    public long getRemainingSeconds(@NotNull UUID uuid) {
+        return getRemaining(uuid) / 1000;
+    }
+
+    /**
+     * Start the cooldown for a player
+     * @param uuid The player UUID
+     * @param durationMs Duration in milliseconds
+     */
+    public void set(@NotNull UUID uuid, long durationMs) {
+        long stamp = lock.writeLock();
+        try {
+            // Clock read under the lock, so setClock can never rebase it twice or not at all
+            put(uuid, CooldownUtil.now() + durationMs);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        CooldownUtil.ensureSweeper();
+        scheduleExpiry(uuid, durationMs);
+        persist(uuid, durationMs);
+    }
+
+    /**
+     * Start the cooldown for a player
+     * @param player The player
+     * @param durationMs Duration in milliseconds
+     */
+    public void set(@NotNull Player player, long durationMs) {
+        set(player.getUniqueId(), durationMs);
+    }
+
+    /**
+     * Start the cooldown for a player
+     * @param uuid The player UUID
+     * @param seconds Duration in seconds
+     */
+    public void setSeconds(@NotNull UUID uuid, long seconds) {
+        set(uuid, seconds * 1000);
+    }
+
+    /**
+     * Check the cooldown and start it if the player is not on cooldown
+     * @param uuid The player UUID
+     * @param durationMs Duration in milliseconds
+     * @return true if the cooldown was started, false if the player is still on cooldown
+     */
+    public boolean tryUse(@NotNull UUID uuid, long durationMs) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        long stamp = lock.writeLock();
+        try {
+            long now = CooldownUtil.now();
+            long expiry = expiries.get(msb, lsb, ABSENT);
+            if (expiry != ABSENT && expiry > now) return false;
+            if (expiry == ABSENT) CooldownUtil.index(uuid, this);
+            expiries.put(msb, lsb, now + durationMs);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        CooldownUtil.ensureSweeper();
+        scheduleExpiry(uuid, durationMs);
+        persist(uuid, durationMs);
+        return true;
+    }
+
+    /**
+     * Clear the cooldown for a player
+     * @param uuid The player UUID
+     */
+    public void clear(@NotNull UUID uuid) {
+        long stamp = lock.writeLock();
+        try {
+            if (expiries.remove(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits())) {
+                CooldownUtil.unindex(uuid, this);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        cancelExpiry(uuid);
+
+        CooldownStore s = store;
+        if (s != null) s.clear(key, uuid);
+    }
+
+    /**
+     * Clear the cooldown for every player
+     */
+    public void clearAll() {
+        long stamp = lock.writeLock();
+        try {
+            expiries.forEach((msb, lsb, expiry) -> CooldownUtil.unindex(new UUID(msb, lsb), this));
+            expiries.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+
+        for (UUID uuid : pendingExpiry.keySet()) {
+            cancelExpiry(uuid);
+        }
+
+        CooldownStore s = store;
+        if (s != null) s.clearKey(key);
+    }
+
+    /**
+     * Check if this cooldown is written to the persistent store
+     * @return true if persistent
+     */
+    public boolean isPersistent() {
+        return store != null;
+    }
+
+    /**
+     * Get the number of stored entries (including expired ones not yet swept)
+     * @return Entry count
+     */
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return expiries.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Remove expired entries
+     * @return Number of removed entries
+     */
+    public int sweep() {
+        long stamp = lock.writeLock();
+        try {
+            long now = CooldownUtil.now();
+            return expiries.removeIf(expiry -> expiry <= now,
+                    (msb, lsb, expiry) -> CooldownUtil.unindex(new UUID(msb, lsb), this));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // ==================== Persistence ====================
+
+    void attach(@Nullable CooldownStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Restore an entry from the store without writing it back
+     */
+    void restore(@NotNull UUID uuid, long remainingMs) {
+        long stamp = lock.writeLock();
+        try {
+            put(uuid, CooldownUtil.now() + remainingMs);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        CooldownUtil.ensureSweeper();
+        scheduleExpiry(uuid, remainingMs);
+    }
+
+    /**
+     * Visit every entry with its remaining time in milliseconds
+     */
+    void snapshot(@NotNull UuidLongMap.Visitor visitor) {
+        long stamp = lock.readLock();
+        try {
+            long now = CooldownUtil.now();
+            expiries.forEach((msb, lsb, expiry) -> visitor.visit(msb, lsb, expiry - now));
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Take the write lock for a clock switch (see {@link CooldownUtil#setClock})
+     * @return The stamp for {@link #unlockClock(long)}
+     */
+    long lockClock() {
+        return lock.writeLock();
+    }
+
+    void unlockClock(long stamp) {
+        lock.unlockWrite(stamp);
+    }
+
+    /**
+     * Shift every expiry by the difference between two clocks (caller holds {@link #lockClock()})
+     */
+    void rebase(long delta) {
+        expiries.replaceAll(expiry -> expiry + delta);
+    }
+
+    private void persist(@NotNull UUID uuid, long durationMs) {
+        CooldownStore s = store;
+        if (s != null) s.set(key, uuid, System.currentTimeMillis() + durationMs);
+    }
+
+    // ==================== Expiry Callbacks ====================
+
+    /**
+     * Register a callback for when a player's cooldown ends (e.g. "your kit is ready").
+     * Only applies to cooldowns started after the callback was registered.
+     * @param listener Called on the main thread with the player UUID
+     * @return This cooldown
+     */
+    @NotNull
+    public Cooldown onExpire(@NotNull Consumer<UUID> listener) {
+        expireListeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Remove an expiry callback
+     * @param listener The listener to remove
+     */
+    public void removeExpireListener(@NotNull Consumer<UUID> listener) {
+        expireListeners.remove(listener);
+    }
+
+    /**
+     * Get the number of pending expiry callbacks
+     * @return Pending count
+     */
+    public int getPendingExpirations() {
+        return pendingExpiry.size();
+    }
+
+    private void scheduleExpiry(@NotNull UUID uuid, long durationMs) {
+        if (expireListeners.isEmpty()) return;
+
+        ExpiryTask task = new ExpiryTask(uuid);
+        ExpiryTask previous = pendingExpiry.put(uuid, task);
+        if (previous != null) previous.cancel();
+        task.schedule(durationMs);
+    }
+
+    private void cancelExpiry(@NotNull UUID uuid) {
+        ExpiryTask task = pendingExpiry.remove(uuid);
+        if (task != null) task.cancel();
+    }
+
+    private void expire(@NotNull ExpiryTask task) {
+        long remaining = getRemaining(task.uuid);
+        if (remaining > 0) {
+            // Ticks ran faster than the cooldown clock; wait for the rest
+            task.schedule(remaining);
+            return;
+        }
+        if (!pendingExpiry.remove(task.uuid, task)) return;
+
+        removeIfExpired(task.uuid);
+        for (Consumer<UUID> listener : expireListeners) {
+            try {
+                listener.accept(task.uuid);
+            } catch (Throwable t) {
+                ConsoleLogger.error("Cooldown '" + key + "' expiry callback threw an exception: " + t);
+                t.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Store an expiry and index the player if new (caller holds the write lock)
+     */
+    private void put(@NotNull UUID uuid, long expiry) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        if (!expiries.contains(msb, lsb)) CooldownUtil.index(uuid, this);
+        expiries.put(msb, lsb, expiry);
+    }
+
+    private long expiry(@NotNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        long stamp = lock.tryOptimisticRead();
+        long expiry = expiries.get(msb, lsb, ABSENT);
+        if (lock.validate(stamp)) return expiry;
+
+        stamp = lock.readLock();
+        try {
+            return expiries.get(msb, lsb, ABSENT);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void removeIfExpired(@NotNull UUID uuid) {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+
+        long stamp = lock.writeLock();
+        try {
+            long now = CooldownUtil.now();
+            long expiry = expiries.get(msb, lsb, ABSENT);
+            if (expiry != ABSENT && expiry <= now) {
+                expiries.remove(msb, lsb);
+                CooldownUtil.unindex(uuid, this);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * A pending expiry callback for one player
+     */
+    private final class ExpiryTask implements Runnable {
+        private final UUID uuid;
+        private volatile TimingWheel.Handle handle;
+        private volatile boolean cancelled;
+
+        private ExpiryTask(@NotNull UUID uuid) {
+            this.uuid = uuid;
+        }
+
+        private void schedule(long delayMs) {
+            handle = CooldownUtil.scheduleExpiry(this, (delayMs + 49) / 50);
+            if (cancelled) handle.cancel();
+        }
+
+        private void cancel() {
+            cancelled = true;
+            TimingWheel.Handle current = handle;
+            if (current != null) current.cancel();
+        }
+
+        @Override
+        public void run() {
+            if (!cancelled) expire(this);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Cooldown{" + key + "}";
+    }
+}
@@ -0,0 +1,373 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * Append-only log backing persistent cooldowns
+ *
+ * Changes are queued without blocking and written by a single background thread.
+ * The log is compacted (rewritten with only live entries) once it grows well past its
+ * last compacted size, and replayed with a single bulk read on startup.
+ * Expiries are stored as wall-clock milliseconds. Records of keys that are not persistent (yet)
+ * are kept in memory and carried over by compaction until a later {@link #replay} claims them.
+ */
+final class CooldownStore {
+
+    private static final int MAGIC = 0x4C43434C; // "LCCL"
+    private static final int VERSION = 1;
+
+    private static final byte KEY = 1;
+    private static final byte SET = 2;
+    private static final byte CLEAR = 3;
+    private static final byte CLEAR_KEY = 4;
+
+    private static final long MIN_COMPACT_SIZE = 1024L * 1024L;
+    private static final long COMPACT_INTERVAL = TimeUnit.MINUTES.toNanos(30);
+    private static final long IDLE_PARK = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path path;
+    private final Function<String, Cooldown> cooldowns;
+    private final Queue<Op> queue = new ConcurrentLinkedQueue<>();
+    private final Map<String, Integer> keyIds = new HashMap<>();
+    private final Map<String, UuidLongMap> unclaimed = new ConcurrentHashMap<>();
+    private final ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+    private final Thread writer;
+
+    private volatile boolean running = true;
+    private FileChannel channel;
+    private long compactedSize;
+    private long lastCompaction = System.nanoTime();
+
+    /**
+     * Open the store, restoring the given keys and dropping any torn record at the end
+     * @param path The log file
+     * @param cooldowns Resolves a key to its interned cooldown
+     * @param keys The keys to restore
+     */
+    CooldownStore(@NotNull Path path, @NotNull Function<String, Cooldown> cooldowns,
+                  @NotNull Collection<String> keys) throws IOException {
+        this.path = path;
+        this.cooldowns = cooldowns;
+
+        Files.createDirectories(path.getParent());
+        long valid = Files.exists(path) ? load(keys) : 0L;
+
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (valid < 8) {
+            channel.truncate(0);
+            writeHeader(channel);
+        } else if (channel.size() > valid) {
+            ConsoleLogger.warn("Cooldown store " + path.getFileName() + " ends with a partial record, truncating it");
+            channel.truncate(valid);
+        }
+        channel.position(channel.size());
+        this.compactedSize = channel.size();
+
+        this.writer = new Thread(this::writeLoop, "LightCore-CooldownStore");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // ==================== Queueing (any thread, never blocks) ====================
+
+    void set(@NotNull String key, @NotNull UUID uuid, long expiryWallMs) {
+        enqueue(new Op(SET, key, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), expiryWallMs));
+    }
+
+    void clear(@NotNull String key, @NotNull UUID uuid) {
+        enqueue(new Op(CLEAR, key, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), 0L));
+    }
+
+    void clearKey(@NotNull String key) {
+        enqueue(new Op(CLEAR_KEY, key, 0L, 0L, 0L));
+    }
+
+    private void enqueue(@NotNull Op op) {
+        if (!running) return; // Closed, or the writer failed
+        queue.add(op);
+        LockSupport.unpark(writer);
+    }
+
+    // ==================== Replay ====================
+
+    /**
+     * Restore the entries read at startup into cooldowns that were made persistent after the store opened
+     * @param keys The keys to restore
+     */
+    void replay(@NotNull Collection<String> keys) {
+        long now = System.currentTimeMillis();
+        for (String key : keys) {
+            UuidLongMap entries = unclaimed.get(key);
+            if (entries == null) continue;
+            restore(key, entries, now);
+            // Removed only after restoring, so a concurrent compaction writes them from one side or the other
+            unclaimed.remove(key);
+        }
+    }
+
+    /**
+     * Read the log, restore live entries for the given keys and keep the rest as unclaimed
+     * @return Length of the valid prefix of the file
+     */
+    private long load(@NotNull Collection<String> keys) throws IOException {
+        Map<String, UuidLongMap> state = new HashMap<>();
+        Map<Integer, String> names = new HashMap<>();
+        long valid = 0L;
+        boolean unknown = false;
+
+        try (FileChannel read = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = read.size();
+            if (size < 8) return 0L;
+
+            if (size > Integer.MAX_VALUE) throw new IOException("Cooldown store " + path.getFileName() + " is too large");
+            // Read onto the heap, not mapped: a live mapping would block truncating or replacing the file on Windows
+            ByteBuffer map = ByteBuffer.allocate((int) size);
+            while (map.hasRemaining() && read.read(map) >= 0) {}
+            map.flip();
+            if (map.getInt() != MAGIC || map.getInt() != VERSION) {
+                unknown = true;
+                map.position(map.limit());
+            }
+
+            if (!unknown) valid = map.position();
+            try {
+                while (map.hasRemaining()) {
+                    byte type = map.get();
+                    switch (type) {
+                        case KEY -> {
+                            int id = map.getInt();
+                            byte[] bytes = new byte[map.getShort() & 0xFFFF];
+                            map.get(bytes);
+                            names.put(id, new String(bytes, StandardCharsets.UTF_8));
+                        }
+                        case SET -> {
+                            String key = names.get(map.getInt());
+                            long msb = map.getLong();
+                            long lsb = map.getLong();
+                            long expiry = map.getLong();
+                            if (key != null) {
+                                state.computeIfAbsent(key, k -> new UuidLongMap()).put(msb, lsb, expiry);
+                            }
+                        }
+                        case CLEAR -> {
+                            String key = names.get(map.getInt());
+                            long msb = map.getLong();
+                            long lsb = map.getLong();
+                            UuidLongMap entries = key != null ? state.get(key) : null;
+                            if (entries != null) entries.remove(msb, lsb);
+                        }
+                        case CLEAR_KEY -> {
+                            String key = names.get(map.getInt());
+                            if (key != null) state.remove(key);
+                        }
+                        default -> throw new IOException("Corrupt record type " + type);
+                    }
+                    valid = map.position();
+                }
+            } catch (BufferUnderflowException | IOException e) {
+                // Torn write from a crash (or a record still being written): keep everything before it
+            }
+        }
+
+        if (unknown) {
+            Path aside = path.resolveSibling(path.getFileName() + ".unknown");
+            ConsoleLogger.warn("Cooldown store " + path.getFileName() + " has an unknown format, moving it to " + aside.getFileName());
+            Files.move(path, aside, StandardCopyOption.REPLACE_EXISTING);
+            return 0L;
+        }
+
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, UuidLongMap> entry : state.entrySet()) {
+            UuidLongMap entries = entry.getValue();
+            entries.removeIf(expiry -> expiry <= now);
+            if (keys.contains(entry.getKey())) {
+                restore(entry.getKey(), entries, now);
+            } else if (entries.size() > 0) {
+                unclaimed.put(entry.getKey(), entries);
+            }
+        }
+        return valid;
+    }
+
+    private void restore(@NotNull String key, @NotNull UuidLongMap entries, long now) {
+        Cooldown cooldown = cooldowns.apply(key);
+        entries.forEach((msb, lsb, expiry) -> {
+            if (expiry > now) cooldown.restore(new UUID(msb, lsb), expiry - now);
+        });
+    }
+
+    // ==================== Writer Thread ====================
+
+    /**
+     * Flush pending writes, compact and stop the writer thread
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        try {
+            while (running || !queue.isEmpty()) {
+                Op op;
+                while ((op = queue.poll()) != null) {
+                    write(op);
+                }
+                flush();
+
+                if (shouldCompact()) compact();
+                if (running && queue.isEmpty()) LockSupport.parkNanos(this, IDLE_PARK);
+            }
+
+            compact();
+            channel.force(true);
+        } catch (IOException e) {
+            // Nothing drains the queue any more: stop accepting changes
+            running = false;
+            queue.clear();
+            ConsoleLogger.error("Cooldown store " + path.getFileName() + " failed, cooldowns are no longer persisted: "
+                    + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException ignored) {}
+        }
+    }
+
+    private void write(@NotNull Op op) throws IOException {
+        int id = keyId(op.key);
+
+        ensureSpace(1 + 4 + 24);
+        buffer.put(op.type).putInt(id);
+        switch (op.type) {
+            case SET -> buffer.putLong(op.msb).putLong(op.lsb).putLong(op.expiry);
+            case CLEAR -> buffer.putLong(op.msb).putLong(op.lsb);
+            default -> {}
+        }
+    }
+
+    private int keyId(@NotNull String key) throws IOException {
+        Integer id = keyIds.get(key);
+        if (id != null) return id;
+
+        int next = keyIds.size();
+        keyIds.put(key, next);
+
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        ensureSpace(1 + 4 + 2 + bytes.length);
+        buffer.put(KEY).putInt(next).putShort((short) bytes.length).put(bytes);
+        return next;
+    }
+
+    private void ensureSpace(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) flush();
+    }
+
+    private void flush() throws IOException {
+        if (buffer.position() == 0) return;
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private boolean shouldCompact() throws IOException {
+        long size = channel.size();
+        if (size > Math.max(MIN_COMPACT_SIZE, compactedSize * 4)) return true;
+        return size > compactedSize && System.nanoTime() - lastCompaction > COMPACT_INTERVAL;
+    }
+
+    /**
+     * Rewrite the log with only the live entries of every persistent cooldown and the unclaimed ones
+     */
+    private void compact() throws IOException {
+        flush();
+
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        FileChannel log = channel;
+        keyIds.clear();
+
+        channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE);
+        writeHeader(channel);
+
+        long now = System.currentTimeMillis();
+        for (Cooldown cooldown : CooldownUtil.persistentCooldowns()) {
+            String key = cooldown.getKey();
+            IOException[] failure = new IOException[1];
+            cooldown.snapshot((msb, lsb, remaining) -> {
+                if (failure[0] != null || remaining <= 0) return;
+                try {
+                    write(new Op(SET, key, msb, lsb, now + remaining));
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+        }
+        for (Map.Entry<String, UuidLongMap> entry : unclaimed.entrySet()) {
+            String key = entry.getKey();
+            IOException[] failure = new IOException[1];
+            entry.getValue().forEach((msb, lsb, expiry) -> {
+                if (failure[0] != null || expiry <= now) return;
+                try {
+                    write(new Op(SET, key, msb, lsb, expiry));
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) throw failure[0];
+        }
+        flush();
+        channel.force(true);
+        channel.close();
+        log.close();
+
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = FileChannel.open(path, StandardOpenOption.WRITE);
+        channel.position(channel.size());
+        compactedSize = channel.size();
+        lastCompaction = System.nanoTime();
+    }
+
+    private static void writeHeader(@NotNull FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(8).putInt(MAGIC).putInt(VERSION);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+
+    /**
+     * A queued change
+     */
+    private record Op(byte type, String key, long msb, long lsb, long expiry) {}
+}
@@ -1,21 +1,74 @@
 package me.lime.lightCore.api.util;
 
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * Utility class for managing cooldowns
+ *
+ * Each key is backed by an interned {@link Cooldown} handle. Hot code should keep the
+ * handle from {@link #handle(String)} instead of passing the key string on every check.
+ * Expired entries are removed by a background sweeper once SchedulerUtil is initialized.
+ * Keys passed to {@link #enablePersistence(JavaPlugin, String...)} survive restarts.
+ * A reverse index from player to cooldowns keeps per-player clearing and listing O(entries).
  */
 public final class CooldownUtil {
 
     private CooldownUtil() {}
 
-    private static final Map<String, Map<UUID, Long>> COOLDOWNS = new ConcurrentHashMap<>();
+    private static final Map<String, Cooldown> COOLDOWNS = new ConcurrentHashMap<>();
+    // Every cooldown ever created, guarded by CLOCK_LOCK so setClock sees them all
+    private static final List<Cooldown> CREATED = new ArrayList<>();
+    private static final Object CLOCK_LOCK = new Object();
+
+    private static volatile TimingWheel.Handle sweeper;
+    private static long sweepPeriod = 20L * 60;
+
+    private static volatile Clock clock = Clock.WALL;
+    private static volatile long tickMillis;
+    private static TimingWheel.Handle ticker;
+
+    private static final Cooldown[] NONE = new Cooldown[0];
+    private static final Map<UUID, Cooldown[]> INDEX = new ConcurrentHashMap<>();
+
+    private static final Map<UUID, TimingWheel.Handle> PENDING_EVICTIONS = new ConcurrentHashMap<>();
+    private static QuitListener quitListener;
+
+    private static final Set<String> PERSISTENT = ConcurrentHashMap.newKeySet();
+    private static CooldownStore store;
+
+    /**
+     * Get the interned cooldown handle for a key
+     * @param key The cooldown key
+     * @return The handle (always the same instance for the same key)
+     */
+    @NotNull
+    public static Cooldown handle(@NotNull String key) {
+        Cooldown cooldown = COOLDOWNS.get(key);
+        return cooldown != null ? cooldown : COOLDOWNS.computeIfAbsent(key, CooldownUtil::create);
+    }
 
     /**
      * Check if a player is on cooldown
@@ -24,18 +77,8 @@ public final class CooldownUtil {
      * @return true if on cooldown
      */
     public static boolean isOnCooldown(@NotNull String key, @NotNull UUID uuid) {
-        Map<UUID, Long> cache = COOLDOWNS.get(key);
-        if (cache == null) return false;
-
-        Long expiry = cache.get(uuid);
-        if (expiry == null) return false;
-
-        if (expiry <= System.currentTimeMillis()) {
-            cache.remove(uuid);
-            return false;
-        }
-
-        return true;
+        Cooldown cooldown = COOLDOWNS.get(key);
+        return cooldown != null && cooldown.isOnCooldown(uuid);
     }
 
     /**
@@ -55,11 +98,8 @@ public final class CooldownUtil {
      * @return Remaining time in ms, or 0 if not on cooldown
      */
     public static long getRemaining(@NotNull String key, @NotNull UUID uuid) {
-        Map<UUID, Long> cache = COOLDOWNS.get(key);
-        if (cache == null) return 0L;
-
-        Long expiry = cache.get(uuid);
-        return expiry == null ? 0L : Math.max(0, expiry - System.currentTimeMillis());
+        Cooldown cooldown = COOLDOWNS.get(key);
+        return cooldown == null ? 0L : cooldown.getRemaining(uuid);
     }
 
     /**
@@ -79,8 +119,7 @@ public final class CooldownUtil {
      * @param durationMs Duration in milliseconds
      */
     public static void setCooldown(@NotNull String key, @NotNull UUID uuid, long durationMs) {
-        COOLDOWNS.computeIfAbsent(key, k -> new ConcurrentHashMap<>())
-                .put(uuid, System.currentTimeMillis() + durationMs);
+        handle(key).set(uuid, durationMs);
     }
 
     /**
@@ -109,9 +148,9 @@ public final class CooldownUtil {
      * @param uuid The player UUID
      */
     public static void clear(@NotNull String key, @NotNull UUID uuid) {
-        Map<UUID, Long> cache = COOLDOWNS.get(key);
-        if (cache != null) {
-            cache.remove(uuid);
+        Cooldown cooldown = COOLDOWNS.get(key);
+        if (cooldown != null) {
+            cooldown.clear(uuid);
         }
     }
 
@@ -120,7 +159,25 @@ public final class CooldownUtil {
      * @param uuid The player UUID
      */
     public static void clearAll(@NotNull UUID uuid) {
-        COOLDOWNS.values().forEach(cache -> cache.remove(uuid));
+        for (Cooldown cooldown : INDEX.getOrDefault(uuid, NONE)) {
+            cooldown.clear(uuid);
+        }
+    }
+
+    /**
+     * Get every running cooldown of a player
+     * @param uuid The player UUID
+     * @return Cooldown key to remaining time in milliseconds
+     */
+    @NotNull
+    public static Map<String, Long> getActive(@NotNull UUID uuid) {
+        Cooldown[] cooldowns = INDEX.getOrDefault(uuid, NONE);
+        Map<String, Long> active = new LinkedHashMap<>(cooldowns.length * 2);
+        for (Cooldown cooldown : cooldowns) {
+            long remaining = cooldown.getRemaining(uuid);
+            if (remaining > 0) active.put(cooldown.getKey(), remaining);
+        }
+        return active;
     }
 
     /**
@@ -128,7 +185,326 @@ public final class CooldownUtil {
      * @param key The cooldown key
      */
     public static void clearKey(@NotNull String key) {
-        COOLDOWNS.remove(key);
+        Cooldown cooldown = COOLDOWNS.get(key);
+        if (cooldown != null) {
+            cooldown.clearAll();
+        }
+    }
+
+    /**
+     * Register a callback for when a cooldown ends
+     * @param key The cooldown key
+     * @param listener Called on the main thread with the player UUID
+     */
+    public static void onExpire(@NotNull String key, @NotNull Consumer<UUID> listener) {
+        handle(key).onExpire(listener);
+    }
+
+    @NotNull
+    static TimingWheel.Handle scheduleExpiry(@NotNull Runnable task, long delayTicks) {
+        return SchedulerUtil.internalLater(task, delayTicks);
+    }
+
+    // ==================== Player Index ====================
+
+    /**
+     * Record that a player has an entry in a cooldown (called under the cooldown's write lock)
+     */
+    static void index(@NotNull UUID uuid, @NotNull Cooldown cooldown) {
+        INDEX.compute(uuid, (u, cooldowns) -> {
+            if (cooldowns == null) return new Cooldown[]{cooldown};
+            for (Cooldown existing : cooldowns) {
+                if (existing == cooldown) return cooldowns;
+            }
+            Cooldown[] grown = Arrays.copyOf(cooldowns, cooldowns.length + 1);
+            grown[cooldowns.length] = cooldown;
+            return grown;
+        });
+    }
+
+    /**
+     * Record that a player no longer has an entry in a cooldown (called under the cooldown's write lock)
+     */
+    static void unindex(@NotNull UUID uuid, @NotNull Cooldown cooldown) {
+        INDEX.computeIfPresent(uuid, (u, cooldowns) -> {
+            for (int i = 0; i < cooldowns.length; i++) {
+                if (cooldowns[i] != cooldown) continue;
+                if (cooldowns.length == 1) return null;
+
+                Cooldown[] shrunk = new Cooldown[cooldowns.length - 1];
+                System.arraycopy(cooldowns, 0, shrunk, 0, i);
+                System.arraycopy(cooldowns, i + 1, shrunk, i, shrunk.length - i);
+                return shrunk;
+            }
+            return cooldowns;
+        });
+    }
+
+    /**
+     * Clear a player's non-persistent cooldowns some time after they quit, so memory follows
+     * online players. Rejoining within the grace period keeps everything.
+     * @param plugin The plugin to register the listener with
+     * @param graceTicks Ticks to wait after the quit (0 = next tick)
+     */
+    public static synchronized void enableQuitEviction(@NotNull JavaPlugin plugin, long graceTicks) {
+        if (quitListener != null) {
+            quitListener.graceTicks = Math.max(1L, graceTicks);
+            return;
+        }
+        quitListener = new QuitListener(Math.max(1L, graceTicks));
+        Bukkit.getPluginManager().registerEvents(quitListener, plugin);
+    }
+
+    /**
+     * Stop evicting cooldowns on quit and cancel pending evictions
+     */
+    public static synchronized void disableQuitEviction() {
+        if (quitListener == null) return;
+
+        HandlerList.unregisterAll(quitListener);
+        quitListener = null;
+        PENDING_EVICTIONS.values().forEach(TimingWheel.Handle::cancel);
+        PENDING_EVICTIONS.clear();
+    }
+
+    private static void evict(@NotNull UUID uuid) {
+        PENDING_EVICTIONS.remove(uuid);
+        if (Bukkit.getPlayer(uuid) != null) return;
+
+        for (Cooldown cooldown : INDEX.getOrDefault(uuid, NONE)) {
+            if (!cooldown.isPersistent()) cooldown.clear(uuid);
+        }
+    }
+
+    /**
+     * Schedules eviction on quit and cancels it on rejoin
+     */
+    private static final class QuitListener implements Listener {
+        private volatile long graceTicks;
+
+        private QuitListener(long graceTicks) {
+            this.graceTicks = graceTicks;
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(@NotNull PlayerQuitEvent event) {
+            UUID uuid = event.getPlayer().getUniqueId();
+            if (!INDEX.containsKey(uuid)) return;
+
+            TimingWheel.Handle previous = PENDING_EVICTIONS.put(uuid, scheduleExpiry(() -> evict(uuid), graceTicks));
+            if (previous != null) previous.cancel();
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onJoin(@NotNull PlayerJoinEvent event) {
+            TimingWheel.Handle pending = PENDING_EVICTIONS.remove(event.getPlayer().getUniqueId());
+            if (pending != null) pending.cancel();
+        }
+    }
+
+    // ==================== Clock ====================
+
+    /**
+     * Time source for cooldown expiries
+     */
+    public enum Clock {
+        /** System.currentTimeMillis() (default) - follows the system clock, including NTP jumps */
+        WALL,
+        /** System.nanoTime() - immune to system clock changes */
+        MONOTONIC,
+        /** Server tick count x 50ms, cached once per tick - cooldowns pause while the server lags */
+        TICK
+    }
+
+    @NotNull
+    private static Cooldown create(@NotNull String key) {
+        synchronized (CLOCK_LOCK) {
+            Cooldown cooldown = new Cooldown(key);
+            CREATED.add(cooldown);
+            return cooldown;
+        }
+    }
+
+    /**
+     * Set the clock used by every cooldown. Running cooldowns keep their remaining time.
+     * Every cooldown is write-locked while the clock switches, so concurrent writes are
+     * rebased exactly once; reads racing the switch may briefly see a wrong remaining time.
+     * TICK requires SchedulerUtil to be initialized.
+     * @param mode The clock
+     */
+    public static synchronized void setClock(@NotNull Clock mode) {
+        if (mode == clock) return;
+
+        if (mode == Clock.TICK) {
+            tickMillis = Bukkit.getCurrentTick() * 50L;
+            if (ticker == null) {
+                ticker = SchedulerUtil.internalRepeating(() -> tickMillis = Bukkit.getCurrentTick() * 50L, 1L, 1L);
+            }
+        }
+
+        synchronized (CLOCK_LOCK) {
+            long[] stamps = new long[CREATED.size()];
+            for (int i = 0; i < stamps.length; i++) {
+                stamps[i] = CREATED.get(i).lockClock();
+            }
+            try {
+                long before = now();
+                clock = mode;
+                long delta = now() - before;
+
+                if (delta != 0) {
+                    for (int i = 0; i < stamps.length; i++) {
+                        CREATED.get(i).rebase(delta);
+                    }
+                }
+            } finally {
+                for (int i = 0; i < stamps.length; i++) {
+                    CREATED.get(i).unlockClock(stamps[i]);
+                }
+            }
+        }
+
+        if (mode != Clock.TICK && ticker != null) {
+            ticker.cancel();
+            ticker = null;
+        }
+    }
+
+    /**
+     * Get the clock used by every cooldown
+     * @return The clock
+     */
+    @NotNull
+    public static Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Current time on the selected clock, in milliseconds
+     */
+    static long now() {
+        return switch (clock) {
+            case WALL -> System.currentTimeMillis();
+            case MONOTONIC -> System.nanoTime() / 1_000_000L;
+            case TICK -> tickMillis;
+        };
+    }
+
+    // ==================== Sweeper ====================
+
+    /**
+     * Remove expired entries from every cooldown
+     * @return Number of removed entries
+     */
+    public static int sweep() {
+        int removed = 0;
+        for (Cooldown cooldown : COOLDOWNS.values()) {
+            removed += cooldown.sweep();
+        }
+        return removed;
+    }
+
+    /**
+     * Set how often the background sweeper runs (default: every minute).
+     * The sweeper also drops idle {@link RateLimiter} state.
+     * @param periodTicks Period in ticks
+     */
+    public static synchronized void setSweepPeriod(long periodTicks) {
+        sweepPeriod = Math.max(1L, periodTicks);
+        if (sweeper != null) {
+            stopSweeper();
+            ensureSweeper();
+        }
+    }
+
+    /**
+     * Stop the background sweeper (it restarts when the next cooldown is set)
+     */
+    public static synchronized void stopSweeper() {
+        if (sweeper != null) {
+            sweeper.cancel();
+            sweeper = null;
+        }
+    }
+
+    static void ensureSweeper() {
+        if (sweeper == null && SchedulerUtil.isInitialized()) {
+            startSweeper();
+        }
+    }
+
+    private static synchronized void startSweeper() {
+        if (sweeper != null) return;
+        sweeper = SchedulerUtil.internalRepeatingAsync(() -> {
+            sweep();
+            RateLimiter.sweepAll();
+        }, sweepPeriod, sweepPeriod);
+    }
+
+    // ==================== Persistence ====================
+
+    /**
+     * Persist cooldowns for the given keys in plugins/&lt;plugin&gt;/cooldowns.log and restore
+     * any that are still running. Writes happen on a background thread and never block
+     * the caller. Can be called again to add more keys.
+     * @param plugin The plugin owning the data folder
+     * @param keys The cooldown keys to persist
+     */
+    public static synchronized void enablePersistence(@NotNull JavaPlugin plugin, @NotNull String... keys) {
+        List<String> added = new ArrayList<>();
+        for (String key : keys) {
+            if (PERSISTENT.add(key)) added.add(key);
+        }
+        if (added.isEmpty()) return;
+
+        try {
+            if (store == null) {
+                store = new CooldownStore(plugin.getDataFolder().toPath().resolve("cooldowns.log"),
+                        CooldownUtil::handle, added);
+            } else {
+                store.replay(added);
+            }
+        } catch (IOException e) {
+            PERSISTENT.removeAll(added);
+            ConsoleLogger.error("Failed to open cooldown store for " + Arrays.toString(keys) + ": " + e.getMessage());
+            return;
+        }
+
+        for (String key : added) {
+            handle(key).attach(store);
+        }
+    }
+
+    /**
+     * Flush and close the cooldown store (call in onDisable)
+     */
+    public static synchronized void disablePersistence() {
+        if (store == null) return;
+
+        for (String key : PERSISTENT) {
+            handle(key).attach(null);
+        }
+        store.close();
+        store = null;
+        PERSISTENT.clear();
+    }
+
+    /**
+     * Check if a key is persisted across restarts
+     * @param key The cooldown key
+     * @return true if persistent
+     */
+    public static boolean isPersistent(@NotNull String key) {
+        return PERSISTENT.contains(key);
+    }
+
+    @NotNull
+    static Collection<Cooldown> persistentCooldowns() {
+        List<Cooldown> cooldowns = new ArrayList<>(PERSISTENT.size());
+        for (String key : PERSISTENT) {
+            cooldowns.add(handle(key));
+        }
+        return cooldowns;
     }
 
     /**
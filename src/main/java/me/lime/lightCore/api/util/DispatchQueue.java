@@ -0,0 +1,317 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Queue that dispatches commands across ticks within a per-tick time budget
+ *
+ * Useful for large batches (e.g. season rewards) that would freeze the server if
+ * dispatched in one go. Higher priority batches always run first.
+ */
+public final class DispatchQueue {
+
+    /**
+     * Batch priority
+     */
+    public enum Priority {
+        HIGH, NORMAL, LOW
+    }
+
+    private final List<Queue<Batch>> queues = new ArrayList<>();
+    private volatile long budgetNanos;
+    private BukkitTask task;
+
+    private DispatchQueue(double budgetMs) {
+        for (int i = 0; i < Priority.values().length; i++) {
+            queues.add(new ConcurrentLinkedQueue<>());
+        }
+        setBudget(budgetMs);
+    }
+
+    /**
+     * Create a queue with a 2ms per-tick budget
+     * @return A new DispatchQueue
+     */
+    @NotNull
+    public static DispatchQueue create() {
+        return new DispatchQueue(2.0);
+    }
+
+    /**
+     * Create a queue
+     * @param budgetMs Milliseconds per tick to spend dispatching
+     * @return A new DispatchQueue
+     */
+    @NotNull
+    public static DispatchQueue create(double budgetMs) {
+        return new DispatchQueue(budgetMs);
+    }
+
+    /**
+     * Set the per-tick budget
+     * @param budgetMs Milliseconds per tick to spend dispatching
+     */
+    public void setBudget(double budgetMs) {
+        this.budgetNanos = Math.max(1L, (long) (budgetMs * TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    /**
+     * Get the per-tick budget
+     * @return Budget in milliseconds
+     */
+    public double getBudget() {
+        return budgetNanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Queue console commands with normal priority
+     * @param commands The commands (leading slashes are stripped)
+     * @return The batch
+     */
+    @NotNull
+    public Batch submit(@NotNull Collection<String> commands) {
+        return submit(Bukkit.getConsoleSender(), Priority.NORMAL, commands);
+    }
+
+    /**
+     * Queue console commands
+     * @param priority The batch priority
+     * @param commands The commands (leading slashes are stripped)
+     * @return The batch
+     */
+    @NotNull
+    public Batch submit(@NotNull Priority priority, @NotNull Collection<String> commands) {
+        return submit(Bukkit.getConsoleSender(), priority, commands);
+    }
+
+    /**
+     * Queue commands for a sender
+     * @param sender The sender to dispatch as
+     * @param priority The batch priority
+     * @param commands The commands (leading slashes are stripped)
+     * @return The batch
+     */
+    @NotNull
+    public Batch submit(@NotNull CommandSender sender, @NotNull Priority priority, @NotNull Collection<String> commands) {
+        Batch batch = new Batch(sender, commands.toArray(new String[0]));
+        if (batch.commands.length == 0) {
+            batch.future.complete(batch);
+            return batch;
+        }
+
+        queues.get(priority.ordinal()).add(batch);
+        start();
+        return batch;
+    }
+
+    /**
+     * Queue a single console command with normal priority
+     * @param command The command
+     * @return The batch
+     */
+    @NotNull
+    public Batch submit(@NotNull String command) {
+        return submit(List.of(command));
+    }
+
+    /**
+     * Get the number of commands still waiting
+     * @return Remaining command count over all batches
+     */
+    public int getPending() {
+        int pending = 0;
+        for (Queue<Batch> queue : queues) {
+            for (Batch batch : queue) {
+                pending += batch.getRemaining();
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Cancel every queued batch
+     */
+    public void clear() {
+        for (Queue<Batch> queue : queues) {
+            Batch batch;
+            while ((batch = queue.poll()) != null) {
+                batch.cancel();
+            }
+        }
+    }
+
+    private synchronized void start() {
+        if (task == null || task.isCancelled()) {
+            task = SchedulerUtil.syncRepeating(this::tick, 0L, 1L);
+        }
+    }
+
+    private synchronized void stopIfIdle() {
+        for (Queue<Batch> queue : queues) {
+            if (!queue.isEmpty()) return;
+        }
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void tick() {
+        long deadline = System.nanoTime() + budgetNanos;
+
+        for (Queue<Batch> queue : queues) {
+            Batch batch;
+            while ((batch = queue.peek()) != null) {
+                boolean finished = batch.run(deadline);
+                batch.notifyProgress();
+
+                if (!finished) return;
+                queue.poll();
+                batch.complete();
+
+                if (System.nanoTime() >= deadline) return;
+            }
+        }
+
+        stopIfIdle();
+    }
+
+    /**
+     * A group of queued commands
+     */
+    public static final class Batch {
+        private final CommandSender sender;
+        private final String[] commands;
+        private final CompletableFuture<Batch> future = new CompletableFuture<>();
+        private volatile int index;
+        private volatile int failed;
+        private volatile boolean cancelled;
+        private volatile Consumer<Batch> progressListener;
+        private int lastNotified = -1;
+
+        private Batch(@NotNull CommandSender sender, @NotNull String[] commands) {
+            this.sender = sender;
+            this.commands = commands;
+        }
+
+        private boolean run(long deadline) {
+            if (cancelled) return true;
+            if (sender instanceof Player player && !player.isOnline()) {
+                failed += commands.length - index;
+                index = commands.length;
+                return true;
+            }
+
+            int i = index;
+            try {
+                while (i < commands.length) {
+                    String command = commands[i];
+                    if (command.startsWith("/")) command = command.substring(1);
+
+                    try {
+                        if (!Bukkit.dispatchCommand(sender, command)) failed++;
+                    } catch (Throwable t) {
+                        failed++;
+                        ConsoleLogger.error("Queued command failed: " + command + " (" + t.getMessage() + ")");
+                    }
+
+                    i++;
+                    if (System.nanoTime() >= deadline) break;
+                }
+            } finally {
+                index = i;
+            }
+            return i >= commands.length;
+        }
+
+        private void notifyProgress() {
+            Consumer<Batch> listener = progressListener;
+            if (listener == null || lastNotified == index) return;
+            lastNotified = index;
+            listener.accept(this);
+        }
+
+        private void complete() {
+            future.complete(this);
+        }
+
+        /**
+         * Register a listener called on the main thread after every tick the batch made progress
+         * @param listener The listener
+         * @return This batch
+         */
+        @NotNull
+        public Batch onProgress(@Nullable Consumer<Batch> listener) {
+            this.progressListener = listener;
+            return this;
+        }
+
+        /**
+         * Get a future completed on the main thread when every command has been dispatched
+         * @return The completion future
+         */
+        @NotNull
+        public CompletableFuture<Batch> getFuture() {
+            return future;
+        }
+
+        /**
+         * Cancel the remaining commands of this batch
+         */
+        public void cancel() {
+            cancelled = true;
+            future.complete(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        public int getTotal() {
+            return commands.length;
+        }
+
+        public int getCompleted() {
+            return index;
+        }
+
+        public int getRemaining() {
+            return cancelled ? 0 : commands.length - index;
+        }
+
+        /**
+         * Get the number of commands that returned false or threw
+         * @return Failed command count
+         */
+        public int getFailed() {
+            return failed;
+        }
+
+        /**
+         * Get the completion ratio
+         * @return Progress between 0.0 and 1.0
+         */
+        public double getProgress() {
+            return commands.length == 0 ? 1.0 : index / (double) commands.length;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package me.lime.lightCore.api.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs tasks for the same key one at a time, in submission order, without blocking the caller
+ *
+ * Each key gets a mailbox on first use which is drained by one task on the backing executor
+ * and dropped as soon as it is empty. Tasks for different keys run in parallel.
+ * Use it to serialize per-player data operations (load, modify, save) from the main thread.
+ *
+ * @param <K> The key type
+ */
+public final class KeyedSerialExecutor<K> {
+
+    private static final int BATCH = 32;
+
+    private final Executor executor;
+    private final Map<K, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Create a serial executor
+     * @param executor The executor running the mailboxes (a pool or a virtual-thread executor)
+     */
+    public KeyedSerialExecutor(@NotNull Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Queue a task for a key
+     * @param key The key
+     * @param task The task
+     * @return Completed with the task's result, or exceptionally if it threw
+     */
+    @NotNull
+    public <T> CompletableFuture<T> submit(@NotNull K key, @NotNull Supplier<T> task) {
+        Job<T> job = new Job<>(task);
+        boolean[] created = new boolean[1];
+
+        Mailbox target = mailboxes.compute(key, (k, mailbox) -> {
+            if (mailbox == null) {
+                mailbox = new Mailbox(k);
+                created[0] = true;
+            }
+            mailbox.jobs.add(job);
+            return mailbox;
+        });
+
+        if (created[0]) start(target);
+        return job.future;
+    }
+
+    /**
+     * Queue a task for a key
+     * @param key The key
+     * @param task The task
+     * @return Completed when the task has run
+     */
+    @NotNull
+    public CompletableFuture<Void> execute(@NotNull K key, @NotNull Runnable task) {
+        return submit(key, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Get the number of keys with queued or running tasks
+     * @return Active key count
+     */
+    public int getActiveKeys() {
+        return mailboxes.size();
+    }
+
+    /**
+     * Get the number of tasks waiting for a key (excluding the running one)
+     * @param key The key
+     * @return Pending task count
+     */
+    public int getPending(@NotNull K key) {
+        Mailbox mailbox = mailboxes.get(key);
+        return mailbox == null ? 0 : mailbox.jobs.size();
+    }
+
+    private void start(@NotNull Mailbox mailbox) {
+        try {
+            executor.execute(mailbox);
+        } catch (RejectedExecutionException e) {
+            mailboxes.remove(mailbox.key, mailbox);
+            Job<?> job;
+            while ((job = mailbox.jobs.poll()) != null) {
+                job.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    /**
+     * Queue of one key, drained by at most one thread at a time
+     */
+    private final class Mailbox implements Runnable {
+        private final K key;
+        private final Queue<Job<?>> jobs = new ConcurrentLinkedQueue<>();
+
+        private Mailbox(@NotNull K key) {
+            this.key = key;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < BATCH; i++) {
+                Job<?> job = jobs.poll();
+                if (job == null) {
+                    // Drop the mailbox unless a task was added meanwhile (adds happen inside compute too)
+                    Mailbox current = mailboxes.computeIfPresent(key, (k, mailbox) ->
+                            mailbox == this && jobs.isEmpty() ? null : mailbox);
+                    if (current != this) return;
+                    continue;
+                }
+                job.run();
+            }
+            // Give other keys a turn on a bounded pool
+            start(this);
+        }
+    }
+
+    /**
+     * A queued task and its future
+     */
+    private static final class Job<T> implements Runnable {
+        private final Supplier<T> task;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+
+        private Job(@NotNull Supplier<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                future.complete(task.get());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+}
@@ -0,0 +1,302 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention profiler for {@link LockUtil}
+ *
+ * Records wait and hold time histograms per lock family ("keyed", "striped", "read",
+ * "write", "multi"), counts contended acquisitions per UUID, and runs a watchdog that logs
+ * the holder's stack trace when a lock is held longer than a threshold.
+ * Costs a single volatile read per lock while disabled.
+ */
+public final class LockProfiler {
+
+    private LockProfiler() {}
+
+    static final String KEYED = "keyed";
+    static final String STRIPED = "striped";
+    static final String READ = "read";
+    static final String WRITE = "write";
+    static final String MULTI = "multi";
+
+    private static final long CONTENDED_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+    private static final int MAX_KEYS = 4096;
+    private static final int MAX_FRAMES = 24;
+
+    private static final Map<String, Family> FAMILIES = new ConcurrentHashMap<>();
+    private static final Map<UUID, LongAdder> CONTENDED = new ConcurrentHashMap<>();
+    private static final Set<Hold> ACTIVE = ConcurrentHashMap.newKeySet();
+
+    private static volatile boolean enabled = false;
+    private static volatile long longHoldNanos = TimeUnit.MILLISECONDS.toNanos(50);
+    private static Thread watchdog;
+
+    /**
+     * Enable profiling and the long-hold watchdog
+     */
+    public static synchronized void enable() {
+        enabled = true;
+        if (watchdog != null) return;
+
+        watchdog = new Thread(LockProfiler::watch, "LightCore-LockWatchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    /**
+     * Disable profiling (recorded data is kept until {@link #reset()})
+     */
+    public static synchronized void disable() {
+        enabled = false;
+        if (watchdog != null) {
+            watchdog.interrupt();
+            watchdog = null;
+        }
+        ACTIVE.clear();
+    }
+
+    /**
+     * Check if profiling is enabled
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set the hold time after which the holder's stack trace is logged
+     * @param millis Threshold in milliseconds
+     */
+    public static void setLongHoldThreshold(long millis) {
+        longHoldNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, millis));
+    }
+
+    /**
+     * Get the long-hold threshold
+     * @return Threshold in milliseconds
+     */
+    public static long getLongHoldThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(longHoldNanos);
+    }
+
+    /**
+     * Get statistics per lock family
+     * @return Unmodifiable view of family statistics
+     */
+    @NotNull
+    public static Map<String, Family> getFamilies() {
+        return Collections.unmodifiableMap(FAMILIES);
+    }
+
+    /**
+     * Get statistics for a lock family
+     * @param name The family ("keyed", "striped", "read", "write" or "multi")
+     * @return The statistics, or null if never recorded
+     */
+    @Nullable
+    public static Family getFamily(@NotNull String name) {
+        return FAMILIES.get(name);
+    }
+
+    /**
+     * Get the UUIDs whose locks were contended most often
+     * @param limit Maximum number of entries
+     * @return UUID and contended acquisition count, highest first
+     */
+    @NotNull
+    public static List<Map.Entry<UUID, Long>> topContended(int limit) {
+        List<Map.Entry<UUID, Long>> entries = new ArrayList<>(CONTENDED.size());
+        for (Map.Entry<UUID, LongAdder> entry : CONTENDED.entrySet()) {
+            entries.add(new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().sum()));
+        }
+        entries.sort(Map.Entry.<UUID, Long>comparingByValue(Comparator.reverseOrder()));
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * Clear all recorded data
+     */
+    public static void reset() {
+        FAMILIES.clear();
+        CONTENDED.clear();
+    }
+
+    // ==================== Recording ====================
+
+    /**
+     * Record an acquisition that started waiting at {@code start} (System.nanoTime)
+     * @return The hold, to pass to {@link #released(Hold)}
+     */
+    @NotNull
+    static Hold acquired(@NotNull String family, @Nullable UUID id, long start) {
+        long now = System.nanoTime();
+        long waited = now - start;
+
+        Family stats = FAMILIES.computeIfAbsent(family, k -> new Family());
+        stats.acquisitions.increment();
+        stats.waits.record(waited);
+
+        if (waited >= CONTENDED_NANOS) {
+            stats.contended.increment();
+            if (id != null) {
+                LongAdder count = CONTENDED.get(id);
+                if (count == null && CONTENDED.size() < MAX_KEYS) {
+                    count = CONTENDED.computeIfAbsent(id, k -> new LongAdder());
+                }
+                if (count != null) count.increment();
+            }
+        }
+
+        Hold hold = new Hold(stats, family, id, Thread.currentThread(), now);
+        ACTIVE.add(hold);
+        return hold;
+    }
+
+    static void released(@Nullable Hold hold) {
+        if (hold == null) return;
+
+        long held = System.nanoTime() - hold.since;
+        ACTIVE.remove(hold);
+        hold.family.holds.record(held);
+
+        if (held >= longHoldNanos) {
+            hold.family.longHolds.increment();
+            if (!hold.reported) {
+                ConsoleLogger.warn("Lock " + hold.describe() + " was held for " + TimingHistogram.format(held));
+            }
+        }
+    }
+
+    private static void watch() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Thread.sleep(Math.max(10L, Math.min(250L, TimeUnit.NANOSECONDS.toMillis(longHoldNanos) / 2)));
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            long now = System.nanoTime();
+            long threshold = longHoldNanos;
+            for (Hold hold : ACTIVE) {
+                if (hold.reported || now - hold.since < threshold) continue;
+                hold.reported = true;
+
+                try {
+                    report(hold, now);
+                } catch (Throwable t) {
+                    // Never let a logging failure stop the watchdog
+                }
+            }
+        }
+    }
+
+    private static void report(@NotNull Hold hold, long now) {
+        StringBuilder message = new StringBuilder("Lock ").append(hold.describe())
+                .append(" held for over ").append(TimingHistogram.format(now - hold.since))
+                .append(" by ").append(hold.thread.getName()).append(':');
+        StackTraceElement[] frames = hold.thread.getStackTrace();
+        for (int i = 0; i < Math.min(frames.length, MAX_FRAMES); i++) {
+            message.append("\n    at ").append(frames[i]);
+        }
+        if (frames.length > MAX_FRAMES) {
+            message.append("\n    ... ").append(frames.length - MAX_FRAMES).append(" more");
+        }
+        ConsoleLogger.warn(message.toString());
+    }
+
+    /**
+     * A lock currently held while profiling
+     */
+    static final class Hold {
+        private final Family family;
+        private final String familyName;
+        private final UUID id;
+        private final Thread thread;
+        private final long since;
+        private volatile boolean reported;
+
+        private Hold(@NotNull Family family, @NotNull String familyName, @Nullable UUID id,
+                     @NotNull Thread thread, long since) {
+            this.family = family;
+            this.familyName = familyName;
+            this.id = id;
+            this.thread = thread;
+            this.since = since;
+        }
+
+        @NotNull
+        private String describe() {
+            return "'" + familyName + "'" + (id != null ? " (" + id + ")" : "");
+        }
+    }
+
+    /**
+     * Statistics for one lock family
+     */
+    public static final class Family {
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder contended = new LongAdder();
+        private final LongAdder longHolds = new LongAdder();
+        private final TimingHistogram waits = new TimingHistogram();
+        private final TimingHistogram holds = new TimingHistogram();
+
+        private Family() {}
+
+        /**
+         * Get the number of acquisitions while profiling was enabled
+         * @return Acquisition count
+         */
+        public long getAcquisitions() {
+            return acquisitions.sum();
+        }
+
+        /**
+         * Get the number of acquisitions that had to wait for another holder
+         * @return Contended count
+         */
+        public long getContended() {
+            return contended.sum();
+        }
+
+        /**
+         * Get the number of holds longer than the long-hold threshold
+         * @return Long hold count
+         */
+        public long getLongHolds() {
+            return longHolds.sum();
+        }
+
+        /**
+         * Get the time spent waiting to acquire
+         * @return The histogram
+         */
+        @NotNull
+        public TimingHistogram getWaits() {
+            return waits;
+        }
+
+        /**
+         * Get the time the lock was held
+         * @return The histogram
+         */
+        @NotNull
+        public TimingHistogram getHolds() {
+            return holds;
+        }
+    }
+}
@@ -1,62 +1,185 @@
 package me.lime.lightCore.api.util;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 /**
  * Utility class for managing locks by UUID
+ *
+ * By default every UUID gets its own lock, created on first use and removed once nobody
+ * holds or waits for it. {@link #useStriped(int)} switches to a fixed array of locks indexed
+ * by the UUID hash instead: nothing is allocated per call, at the cost of unrelated UUIDs
+ * occasionally sharing a lock.
+ *
+ * {@link #withLocks(Collection, Runnable)} locks several UUIDs at once (trades, transfers) in a
+ * canonical order, so two such calls can never deadlock each other.
+ *
+ * {@link #withReadLock(UUID, Supplier)}, {@link #withWriteLock(UUID, Supplier)} and
+ * {@link #optimisticRead(UUID, Supplier, Predicate)} use a separate set of StampedLocks for
+ * read-mostly state; these are not reentrant. They are held weakly and looked up with a plain
+ * map read, so an optimistic read never writes shared state.
+ *
+ * Wait and hold times can be recorded with {@link LockProfiler}.
+ *
+ * {@link #serial(UUID, Supplier)} is the non-blocking alternative: tasks for the same UUID
+ * run one after another off the calling thread, and the caller gets a CompletableFuture.
  */
 public final class LockUtil {
 
     private LockUtil() {}
 
-    private static final Map<UUID, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+    private static final Map<UUID, KeyedLock> LOCKS = new ConcurrentHashMap<>();
+    private static final Map<UUID, RwRef> RW_LOCKS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<StampedLock> RW_QUEUE = new ReferenceQueue<>();
+    private static final int MAX_STRIPES = 1 << 16;
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static volatile ReentrantLock[] stripes;
+    private static volatile StampedLock[] rwStripes;
+    private static volatile KeyedSerialExecutor<UUID> serial;
+
+    // ==================== Mode ====================
+
+    /**
+     * Use a fixed set of striped locks instead of one lock per UUID.
+     * Call once in onEnable, before any locks are taken.
+     * @param stripeCount Number of stripes (rounded up to a power of two)
+     */
+    public static synchronized void useStriped(int stripeCount) {
+        int size = 1;
+        while (size < stripeCount && size < MAX_STRIPES) {
+            size <<= 1;
+        }
+
+        ReentrantLock[] locks = new ReentrantLock[size];
+        StampedLock[] rwLocks = new StampedLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+            rwLocks[i] = new StampedLock();
+        }
+        stripes = locks;
+        rwStripes = rwLocks;
+    }
+
+    /**
+     * Go back to one lock per UUID (the default)
+     */
+    public static synchronized void useKeyed() {
+        stripes = null;
+        rwStripes = null;
+    }
 
     /**
-     * Acquire a lock for a UUID
+     * Check if striped locks are in use
+     * @return true if striped
+     */
+    public static boolean isStriped() {
+        return stripes != null;
+    }
+
+    /**
+     * Get the number of stripes
+     * @return The stripe count, or 0 in keyed mode
+     */
+    public static int getStripeCount() {
+        ReentrantLock[] locks = stripes;
+        return locks == null ? 0 : locks.length;
+    }
+
+    // ==================== Locking ====================
+
+    /**
+     * Acquire a lock for a UUID. Every acquire must be paired with {@link #release(UUID, ReentrantLock)},
+     * even if the lock was never locked: in keyed mode the lock stays in the map until then.
+     * Unlocking the returned lock directly keeps its entry forever.
      * @param id The UUID
      * @return The lock
      */
     @NotNull
     public static ReentrantLock acquire(@NotNull UUID id) {
-        return LOCKS.computeIfAbsent(id, k -> new ReentrantLock());
+        ReentrantLock[] locks = stripes;
+        if (locks != null) return locks[stripe(id, locks.length)];
+
+        return LOCKS.compute(id, (k, lock) -> {
+            if (lock == null) lock = new KeyedLock();
+            lock.users++;
+            return lock;
+        });
     }
 
     /**
-     * Release a lock for a UUID
+     * Release a lock for a UUID (unlocks it if held by the current thread, and ends the
+     * matching {@link #acquire(UUID)} either way)
      * @param id The UUID
      * @param lock The lock to release
      */
     public static void release(@NotNull UUID id, ReentrantLock lock) {
-        if (lock == null || !lock.isHeldByCurrentThread()) return;
+        if (lock == null) return;
 
-        lock.unlock();
-        if (!lock.isLocked()) {
-            LOCKS.remove(id, lock);
+        if (lock.isHeldByCurrentThread()) {
+            lock.unlock();
+        }
+        if (lock instanceof KeyedLock keyed) {
+            unuse(id, keyed, 1);
         }
     }
 
     /**
-     * Try to acquire a lock with timeout
+     * Try to lock a UUID within a timeout
      * @param id The UUID
      * @param time The timeout duration
      * @param unit The time unit
-     * @return true if lock was acquired
+     * @return The locked lock, to be passed to {@link #release(UUID, ReentrantLock)}, or null on timeout
      */
-    public static boolean tryLock(@NotNull UUID id, long time, @NotNull TimeUnit unit) {
+    @Nullable
+    public static ReentrantLock tryAcquire(@NotNull UUID id, long time, @NotNull TimeUnit unit) {
         ReentrantLock lock = acquire(id);
+        boolean locked = false;
         try {
-            return lock.tryLock(time, unit);
+            locked = lock.tryLock(time, unit);
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            return false;
         }
+        if (locked) return lock;
+
+        if (lock instanceof KeyedLock keyed) {
+            unuse(id, keyed, 1);
+        }
+        return null;
+    }
+
+    /**
+     * Try to lock a UUID within a timeout. The caller gets no lock object, so a successful call
+     * must be undone with {@link #forceRelease(UUID)}; prefer {@link #tryAcquire(UUID, long, TimeUnit)}.
+     * @param id The UUID
+     * @param time The timeout duration
+     * @param unit The time unit
+     * @return true if lock was acquired
+     */
+    public static boolean tryLock(@NotNull UUID id, long time, @NotNull TimeUnit unit) {
+        return tryAcquire(id, time, unit) != null;
     }
 
     /**
@@ -66,11 +189,12 @@ public final class LockUtil {
      */
     public static void withLock(@NotNull UUID id, @NotNull Runnable action) {
         ReentrantLock lock = acquire(id);
-        lock.lock();
+        LockProfiler.Hold hold = lock(id, lock);
         try {
             action.run();
         } finally {
             release(id, lock);
+            LockProfiler.released(hold);
         }
     }
 
@@ -82,41 +206,429 @@ public final class LockUtil {
      */
     public static <T> T withLock(@NotNull UUID id, @NotNull Supplier<T> action) {
         ReentrantLock lock = acquire(id);
-        lock.lock();
+        LockProfiler.Hold hold = lock(id, lock);
         try {
             return action.get();
         } finally {
             release(id, lock);
+            LockProfiler.released(hold);
         }
     }
 
     /**
-     * Check if a UUID is currently locked
+     * Check if a UUID is currently locked (in striped mode, any UUID sharing its stripe counts)
      * @param id The UUID
      * @return true if locked
      */
     public static boolean isLocked(@NotNull UUID id) {
+        ReentrantLock[] locks = stripes;
+        if (locks != null) return locks[stripe(id, locks.length)].isLocked();
+
         ReentrantLock lock = LOCKS.get(id);
         return lock != null && lock.isLocked();
     }
 
     /**
      * Force release all locks held by current thread for a UUID
+     * (each hold counts as one outstanding {@link #acquire(UUID)})
      * @param id The UUID
      */
     public static void forceRelease(@NotNull UUID id) {
-        ReentrantLock lock = LOCKS.remove(id);
+        ReentrantLock[] locks = stripes;
+        ReentrantLock lock = locks != null ? locks[stripe(id, locks.length)] : LOCKS.get(id);
         if (lock == null) return;
 
+        int released = 0;
         while (lock.isHeldByCurrentThread()) {
             lock.unlock();
+            released++;
+        }
+        if (released > 0 && lock instanceof KeyedLock keyed) {
+            unuse(id, keyed, released);
+        }
+    }
+
+    // ==================== Multi-Key Locking ====================
+
+    /**
+     * Execute an action while holding the locks of every given UUID.
+     * Locks are taken in a canonical order, so concurrent withLocks calls cannot deadlock.
+     * @param ids The UUIDs (duplicates are ignored)
+     * @param action The action to execute
+     */
+    public static void withLocks(@NotNull Collection<UUID> ids, @NotNull Runnable action) {
+        withLocks(ids, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Execute an action while holding the locks of every given UUID and return the result
+     * @param ids The UUIDs (duplicates are ignored)
+     * @param action The action to execute
+     * @return The result
+     */
+    public static <T> T withLocks(@NotNull Collection<UUID> ids, @NotNull Supplier<T> action) {
+        List<Held> held = acquireAll(ids);
+        long start = LockProfiler.isEnabled() ? System.nanoTime() : 0L;
+        for (Held entry : held) {
+            entry.lock.lock();
+        }
+        LockProfiler.Hold hold = start != 0L ? LockProfiler.acquired(LockProfiler.MULTI, null, start) : null;
+        try {
+            return action.get();
+        } finally {
+            releaseAll(held, true);
+            LockProfiler.released(hold);
+        }
+    }
+
+    /**
+     * Try to lock every given UUID within a timeout, then execute an action.
+     * If a lock is busy, everything taken so far is released and the attempt is retried
+     * after a randomized back-off, which also resolves deadlocks with nested withLock calls.
+     * @param ids The UUIDs (duplicates are ignored)
+     * @param time The timeout duration
+     * @param unit The time unit
+     * @param action The action to execute
+     * @return true if the locks were acquired and the action ran
+     */
+    public static boolean tryWithLocks(@NotNull Collection<UUID> ids, long time, @NotNull TimeUnit unit,
+                                       @NotNull Runnable action) {
+        List<Held> held = acquireAll(ids);
+        long start = System.nanoTime();
+        if (!lockAll(held, start + unit.toNanos(time))) {
+            releaseAll(held, false);
+            return false;
+        }
+        LockProfiler.Hold hold = LockProfiler.isEnabled() ? LockProfiler.acquired(LockProfiler.MULTI, null, start) : null;
+        try {
+            action.run();
+            return true;
+        } finally {
+            releaseAll(held, true);
+            LockProfiler.released(hold);
+        }
+    }
+
+    /**
+     * Resolve the locks for a set of UUIDs in canonical order
+     */
+    @NotNull
+    private static List<Held> acquireAll(@NotNull Collection<UUID> ids) {
+        ReentrantLock[] locks = stripes;
+        List<Held> held = new ArrayList<>(ids.size());
+
+        if (locks == null) {
+            for (UUID id : new TreeSet<>(ids)) {
+                held.add(new Held(id, acquire(id), 0));
+            }
+            return held;
+        }
+
+        // Striped: order by stripe and skip UUIDs sharing a stripe with one already taken
+        boolean[] taken = new boolean[locks.length];
+        for (UUID id : ids) {
+            int index = stripe(id, locks.length);
+            if (taken[index]) continue;
+            taken[index] = true;
+            held.add(new Held(id, locks[index], index));
+        }
+        held.sort(Comparator.comparingInt(Held::stripe));
+        return held;
+    }
+
+    private static boolean lockAll(@NotNull List<Held> held, long deadline) {
+        long backoff = TimeUnit.MICROSECONDS.toNanos(100);
+
+        while (true) {
+            int locked = 0;
+            try {
+                for (Held entry : held) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !entry.lock.tryLock(Math.min(remaining, MAX_BACKOFF_NANOS), TimeUnit.NANOSECONDS)) {
+                        break;
+                    }
+                    locked++;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                unlockFirst(held, locked);
+                return false;
+            }
+
+            if (locked == held.size()) return true;
+            unlockFirst(held, locked);
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) return false;
+
+            LockSupport.parkNanos(Math.min(remaining, ThreadLocalRandom.current().nextLong(backoff) + 1));
+            backoff = Math.min(backoff * 2, MAX_BACKOFF_NANOS);
+        }
+    }
+
+    private static void unlockFirst(@NotNull List<Held> held, int count) {
+        for (int i = count - 1; i >= 0; i--) {
+            held.get(i).lock.unlock();
+        }
+    }
+
+    private static void releaseAll(@NotNull List<Held> held, boolean locked) {
+        for (int i = held.size() - 1; i >= 0; i--) {
+            Held entry = held.get(i);
+            if (locked) {
+                release(entry.id, entry.lock);
+            } else if (entry.lock instanceof KeyedLock keyed) {
+                unuse(entry.id, keyed, 1);
+            }
+        }
+    }
+
+    /**
+     * A lock resolved for one UUID of a multi-key operation
+     */
+    private record Held(UUID id, ReentrantLock lock, int stripe) {}
+
+    // ==================== Read-Write Locks ====================
+
+    /**
+     * Read while holding a shared lock (other readers are not blocked)
+     * @param id The UUID
+     * @param action The read
+     * @return The result
+     */
+    public static <T> T withReadLock(@NotNull UUID id, @NotNull Supplier<T> action) {
+        StampedLock lock = acquireRw(id);
+        long start = LockProfiler.isEnabled() ? System.nanoTime() : 0L;
+        long stamp = lock.readLock();
+        LockProfiler.Hold hold = start != 0L ? LockProfiler.acquired(LockProfiler.READ, id, start) : null;
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+            LockProfiler.released(hold);
+        }
+    }
+
+    /**
+     * Write while holding the exclusive lock
+     * @param id The UUID
+     * @param action The write
+     */
+    public static void withWriteLock(@NotNull UUID id, @NotNull Runnable action) {
+        StampedLock lock = acquireRw(id);
+        long start = LockProfiler.isEnabled() ? System.nanoTime() : 0L;
+        long stamp = lock.writeLock();
+        LockProfiler.Hold hold = start != 0L ? LockProfiler.acquired(LockProfiler.WRITE, id, start) : null;
+        try {
+            action.run();
+        } finally {
+            lock.unlockWrite(stamp);
+            LockProfiler.released(hold);
         }
     }
 
     /**
-     * Clear all locks
+     * Write while holding the exclusive lock and return the result
+     * @param id The UUID
+     * @param action The write
+     * @return The result
+     */
+    public static <T> T withWriteLock(@NotNull UUID id, @NotNull Supplier<T> action) {
+        StampedLock lock = acquireRw(id);
+        long start = LockProfiler.isEnabled() ? System.nanoTime() : 0L;
+        long stamp = lock.writeLock();
+        LockProfiler.Hold hold = start != 0L ? LockProfiler.acquired(LockProfiler.WRITE, id, start) : null;
+        try {
+            return action.get();
+        } finally {
+            lock.unlockWrite(stamp);
+            LockProfiler.released(hold);
+        }
+    }
+
+    /**
+     * Read without locking, retrying under the read lock if a writer interfered
+     * @param id The UUID
+     * @param action The read (may run twice, must not have side effects)
+     * @return The result
+     */
+    public static <T> T optimisticRead(@NotNull UUID id, @NotNull Supplier<T> action) {
+        return optimisticRead(id, action, value -> true);
+    }
+
+    /**
+     * Read without locking, retrying under the read lock if a writer interfered or the
+     * validator rejects the value (e.g. a half-updated object seen during the race)
+     * @param id The UUID
+     * @param action The read (may run twice, must not have side effects)
+     * @param validator Checks the optimistically read value
+     * @return The result
+     */
+    public static <T> T optimisticRead(@NotNull UUID id, @NotNull Supplier<T> action, @NotNull Predicate<T> validator) {
+        StampedLock lock = acquireRw(id);
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                T value = action.get();
+                if (validator.test(value) && lock.validate(stamp)) return value;
+            } catch (RuntimeException e) {
+                // Inconsistent state seen mid-write: retry under the lock, where errors are real
+                if (lock.validate(stamp)) throw e;
+            }
+        }
+
+        long start = LockProfiler.isEnabled() ? System.nanoTime() : 0L;
+        stamp = lock.readLock();
+        LockProfiler.Hold hold = start != 0L ? LockProfiler.acquired(LockProfiler.READ, id, start) : null;
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+            LockProfiler.released(hold);
+        }
+    }
+
+    @NotNull
+    private static StampedLock acquireRw(@NotNull UUID id) {
+        StampedLock[] locks = rwStripes;
+        if (locks != null) return locks[stripe(id, locks.length)];
+
+        // Every thread using the lock holds it strongly, so it can only be collected once unused
+        RwRef ref = RW_LOCKS.get(id);
+        StampedLock lock = ref != null ? ref.get() : null;
+        return lock != null ? lock : createRw(id);
+    }
+
+    @NotNull
+    private static StampedLock createRw(@NotNull UUID id) {
+        expungeRw();
+
+        StampedLock[] created = new StampedLock[1];
+        RW_LOCKS.compute(id, (k, ref) -> {
+            StampedLock lock = ref != null ? ref.get() : null;
+            if (lock == null) {
+                lock = new StampedLock();
+                ref = new RwRef(id, lock);
+            }
+            created[0] = lock;
+            return ref;
+        });
+        return created[0];
+    }
+
+    private static void expungeRw() {
+        Reference<? extends StampedLock> ref;
+        while ((ref = RW_QUEUE.poll()) != null) {
+            RwRef cleared = (RwRef) ref;
+            RW_LOCKS.remove(cleared.id, cleared);
+        }
+    }
+
+    // ==================== Serial Execution ====================
+
+    /**
+     * Run a task after every earlier serial task for the same UUID, without blocking the caller
+     * @param id The UUID
+     * @param task The task
+     * @return Completed with the task's result, or exceptionally if it threw
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> serial(@NotNull UUID id, @NotNull Supplier<T> task) {
+        return serialExecutor().submit(id, task);
+    }
+
+    /**
+     * Run a task after every earlier serial task for the same UUID, without blocking the caller
+     * @param id The UUID
+     * @param task The task
+     * @return Completed when the task has run
+     */
+    @NotNull
+    public static CompletableFuture<Void> serial(@NotNull UUID id, @NotNull Runnable task) {
+        return serialExecutor().execute(id, task);
+    }
+
+    /**
+     * Set the executor used by serial tasks (default: a virtual thread per mailbox).
+     * Call before submitting serial tasks.
+     * @param executor The executor, e.g. a fixed pool for blocking database work
+     */
+    public static synchronized void setSerialExecutor(@NotNull Executor executor) {
+        serial = new KeyedSerialExecutor<>(executor);
+    }
+
+    @NotNull
+    private static KeyedSerialExecutor<UUID> serialExecutor() {
+        KeyedSerialExecutor<UUID> executor = serial;
+        if (executor != null) return executor;
+
+        synchronized (LockUtil.class) {
+            if (serial == null) {
+                serial = new KeyedSerialExecutor<>(Executors.newThreadPerTaskExecutor(
+                        Thread.ofVirtual().name("LightCore-Serial-", 0).factory()));
+            }
+            return serial;
+        }
+    }
+
+    /**
+     * Drop lock entries nobody uses any more. Locks that are held or still to be released
+     * are kept, so a UUID never maps to two locks at once.
      */
     public static void clearAll() {
-        LOCKS.clear();
+        LOCKS.forEach((id, lock) -> LOCKS.computeIfPresent(id, (k, current) -> current.users <= 0 ? null : current));
+        expungeRw();
+    }
+
+    /**
+     * Lock, recording wait time and starting a hold when profiling
+     */
+    @Nullable
+    private static LockProfiler.Hold lock(@NotNull UUID id, @NotNull ReentrantLock lock) {
+        if (!LockProfiler.isEnabled()) {
+            lock.lock();
+            return null;
+        }
+
+        long start = System.nanoTime();
+        lock.lock();
+        return LockProfiler.acquired(lock instanceof KeyedLock ? LockProfiler.KEYED : LockProfiler.STRIPED, id, start);
+    }
+
+    private static void unuse(@NotNull UUID id, @NotNull KeyedLock lock, int count) {
+        // Decrement and remove inside the map so a concurrent acquire can never get a lock
+        // that is about to be dropped
+        LOCKS.computeIfPresent(id, (k, current) -> {
+            if (current != lock) return current;
+            current.users -= count;
+            return current.users <= 0 ? null : current;
+        });
+    }
+
+    private static int stripe(@NotNull UUID id, int length) {
+        int h = id.hashCode();
+        return (h ^ (h >>> 16)) & (length - 1);
+    }
+
+    /**
+     * Per-UUID lock counting the threads currently using it (guarded by the map)
+     */
+    private static final class KeyedLock extends ReentrantLock {
+        private int users;
+    }
+
+    /**
+     * Weak map entry for a per-UUID read-write lock, removed once the lock was collected
+     */
+    private static final class RwRef extends WeakReference<StampedLock> {
+        private final UUID id;
+
+        private RwRef(@NotNull UUID id, @NotNull StampedLock lock) {
+            super(lock, RW_QUEUE);
+            this.id = id;
+        }
     }
 }
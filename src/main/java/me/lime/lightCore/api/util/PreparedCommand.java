@@ -0,0 +1,155 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.command.Command;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A command line parsed once and invoked directly on its {@link Command}
+ *
+ * The label is lowercased and the arguments are split ahead of time, so executing costs a
+ * single read of the CommandMap (which always sees re-registered or replaced commands) and
+ * skips string parsing and the command preprocess events of {@link Bukkit#dispatchCommand}.
+ * Must be executed on the main thread.
+ */
+public final class PreparedCommand {
+
+    private static final String PLAYER = "<player>";
+
+    private final String line;
+    private final String label;
+    private final String[] args;
+    private final int[] playerArgs;
+    private final boolean playerLabel;
+    private final String key;
+
+    private PreparedCommand(@NotNull String line) {
+        String trimmed = line.trim();
+        if (trimmed.startsWith("/")) trimmed = trimmed.substring(1);
+        this.line = trimmed;
+
+        String[] split = trimmed.split(" +");
+        this.label = split[0];
+        this.args = new String[split.length - 1];
+        System.arraycopy(split, 1, args, 0, args.length);
+
+        List<Integer> indices = new ArrayList<>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].contains(PLAYER)) indices.add(i);
+        }
+        this.playerArgs = indices.stream().mapToInt(Integer::intValue).toArray();
+        this.playerLabel = label.contains(PLAYER);
+        this.key = label.toLowerCase(Locale.ENGLISH);
+    }
+
+    /**
+     * Prepare a command line
+     * @param line The command line, e.g. "give <player> diamond 1" (leading slash optional)
+     * @return The prepared command
+     */
+    @NotNull
+    public static PreparedCommand of(@NotNull String line) {
+        return new PreparedCommand(line);
+    }
+
+    /**
+     * Execute with the prepared arguments
+     * @param sender The sender to execute as
+     * @return true if the command ran successfully
+     */
+    public boolean execute(@NotNull CommandSender sender) {
+        return invoke(sender, args);
+    }
+
+    /**
+     * Execute with every <player> argument replaced by the target's name
+     * @param sender The sender to execute as
+     * @param target The player used for <player> replacement
+     * @return true if the command ran successfully
+     */
+    public boolean execute(@NotNull CommandSender sender, @NotNull Player target) {
+        return invoke(sender, argsFor(target.getName()));
+    }
+
+    /**
+     * Execute with explicit arguments
+     * @param sender The sender to execute as
+     * @param arguments The arguments (already split)
+     * @return true if the command ran successfully
+     */
+    public boolean executeWith(@NotNull CommandSender sender, @NotNull String... arguments) {
+        return invoke(sender, arguments);
+    }
+
+    /**
+     * Get the arguments with every <player> replaced by a name
+     * @param name The player name
+     * @return A new argument array (or the shared one if nothing needs replacing)
+     */
+    @NotNull
+    String[] argsFor(@NotNull String name) {
+        if (playerArgs.length == 0) return args;
+
+        String[] copy = args.clone();
+        for (int i : playerArgs) {
+            copy[i] = copy[i].replace(PLAYER, name);
+        }
+        return copy;
+    }
+
+    /**
+     * Get the command label
+     * @return The label without a leading slash
+     */
+    @NotNull
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Get the full command line
+     * @return The command line without a leading slash
+     */
+    @NotNull
+    public String getLine() {
+        return line;
+    }
+
+    /**
+     * Check if the command currently resolves to a registered command
+     * @return true if resolvable
+     */
+    public boolean isResolved() {
+        return resolve() != null;
+    }
+
+    boolean invoke(@NotNull CommandSender sender, @NotNull String[] arguments) {
+        Command target = playerLabel ? null : resolve();
+        if (target == null) {
+            // Unknown or templated label: let Bukkit handle it (and print its usual message)
+            return Bukkit.dispatchCommand(sender, arguments.length == 0 ? label : label + " " + String.join(" ", arguments));
+        }
+
+        try {
+            return target.execute(sender, label, arguments);
+        } catch (Throwable t) {
+            ConsoleLogger.error("Unhandled exception executing prepared command '" + line + "': " + t);
+            t.printStackTrace();
+            return false;
+        }
+    }
+
+    @Nullable
+    private Command resolve() {
+        // Same key as SimpleCommandMap#getCommand, without its per-call lowercasing
+        return Bukkit.getCommandMap().getKnownCommands().get(key);
+    }
+}
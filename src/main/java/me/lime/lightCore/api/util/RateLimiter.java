@@ -0,0 +1,353 @@
+package me.lime.lightCore.api.util;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free per-player rate limiter, e.g. "3 uses per 10 seconds"
+ *
+ * Each player's state is a single long updated with CAS, and refills are computed lazily
+ * on access, so checks never block and can be made from async chat threads.
+ * Limiters are interned by key like {@link CooldownUtil#handle(String)}.
+ *
+ * <ul>
+ *   <li>{@link Mode#TOKEN_BUCKET} - allows bursts of up to {@code permits}, refilling evenly
+ *   over the period</li>
+ *   <li>{@link Mode#SLIDING_WINDOW} - at most {@code permits} within any period, estimated
+ *   from the current and previous window counts</li>
+ * </ul>
+ */
+public final class RateLimiter {
+
+    private static final Map<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private static final long COUNT_MASK = 0xFFFFL;
+    private static final int MAX_WINDOW_PERMITS = 0xFFFF;
+
+    /**
+     * Rate limiting algorithm
+     */
+    public enum Mode {
+        TOKEN_BUCKET,
+        SLIDING_WINDOW
+    }
+
+    private final String key;
+    private final Mode mode;
+    private final int permits;
+    private final long periodNanos;
+    private final long intervalNanos;
+    private final long base = System.nanoTime();
+    private final Map<UUID, AtomicLong> states = new ConcurrentHashMap<>();
+
+    private RateLimiter(@NotNull String key, @NotNull Mode mode, int permits, long periodMs) {
+        if (permits <= 0 || periodMs <= 0) {
+            throw new IllegalArgumentException("Rate limit '" + key + "' needs positive permits and period");
+        }
+        if (mode == Mode.SLIDING_WINDOW && permits > MAX_WINDOW_PERMITS) {
+            throw new IllegalArgumentException("Sliding window '" + key + "' supports at most " + MAX_WINDOW_PERMITS + " permits");
+        }
+        this.key = key;
+        this.mode = mode;
+        this.permits = permits;
+        this.periodNanos = TimeUnit.MILLISECONDS.toNanos(periodMs);
+        this.intervalNanos = Math.max(1L, periodNanos / permits);
+    }
+
+    // ==================== Registry ====================
+
+    /**
+     * Get or create a token bucket limiter
+     * @param key The limiter key
+     * @param permits Maximum burst size
+     * @param periodMs Time to refill the full bucket in milliseconds
+     * @return The limiter (the same instance while the configuration is unchanged)
+     */
+    @NotNull
+    public static RateLimiter tokenBucket(@NotNull String key, int permits, long periodMs) {
+        return register(key, Mode.TOKEN_BUCKET, permits, periodMs);
+    }
+
+    /**
+     * Get or create a sliding window limiter
+     * @param key The limiter key
+     * @param permits Maximum uses per window (up to 65535)
+     * @param periodMs Window length in milliseconds
+     * @return The limiter (the same instance while the configuration is unchanged)
+     */
+    @NotNull
+    public static RateLimiter slidingWindow(@NotNull String key, int permits, long periodMs) {
+        return register(key, Mode.SLIDING_WINDOW, permits, periodMs);
+    }
+
+    /**
+     * Get a registered limiter
+     * @param key The limiter key
+     * @return The limiter, or null if none is registered
+     */
+    @Nullable
+    public static RateLimiter get(@NotNull String key) {
+        return LIMITERS.get(key);
+    }
+
+    /**
+     * Remove a limiter and its state
+     * @param key The limiter key
+     */
+    public static void unregister(@NotNull String key) {
+        LIMITERS.remove(key);
+    }
+
+    /**
+     * Drop idle per-player state from every limiter
+     * @return Number of removed entries
+     */
+    public static int sweepAll() {
+        int removed = 0;
+        for (RateLimiter limiter : LIMITERS.values()) {
+            removed += limiter.sweep();
+        }
+        return removed;
+    }
+
+    @NotNull
+    private static RateLimiter register(@NotNull String key, @NotNull Mode mode, int permits, long periodMs) {
+        RateLimiter existing = LIMITERS.get(key);
+        if (existing != null && existing.matches(mode, permits, periodMs)) return existing;
+
+        RateLimiter limiter = LIMITERS.compute(key, (k, current) ->
+                current != null && current.matches(mode, permits, periodMs) ? current : new RateLimiter(k, mode, permits, periodMs));
+        CooldownUtil.ensureSweeper();
+        return limiter;
+    }
+
+    private boolean matches(@NotNull Mode mode, int permits, long periodMs) {
+        return this.mode == mode && this.permits == permits && this.periodNanos == TimeUnit.MILLISECONDS.toNanos(periodMs);
+    }
+
+    // ==================== Checks ====================
+
+    /**
+     * Take one permit if available
+     * @param uuid The player UUID
+     * @return true if allowed
+     */
+    public boolean tryAcquire(@NotNull UUID uuid) {
+        return tryAcquire(uuid, 1);
+    }
+
+    /**
+     * Take one permit if available
+     * @param player The player
+     * @return true if allowed
+     */
+    public boolean tryAcquire(@NotNull Player player) {
+        return tryAcquire(player.getUniqueId(), 1);
+    }
+
+    /**
+     * Take several permits at once if all are available
+     * @param uuid The player UUID
+     * @param count Number of permits
+     * @return true if allowed
+     */
+    public boolean tryAcquire(@NotNull UUID uuid, int count) {
+        if (count <= 0) return true;
+        if (count > permits) return false;
+
+        AtomicLong state = state(uuid);
+        long now = System.nanoTime() - base;
+        return mode == Mode.TOKEN_BUCKET ? acquireBucket(state, now, count) : acquireWindow(state, now, count);
+    }
+
+    /**
+     * Get the number of permits currently available
+     * @param uuid The player UUID
+     * @return Available permits
+     */
+    public int getAvailable(@NotNull UUID uuid) {
+        AtomicLong state = states.get(uuid);
+        if (state == null) return permits;
+
+        long now = System.nanoTime() - base;
+        long value = state.get();
+        if (mode == Mode.TOKEN_BUCKET) {
+            long backlog = Math.max(0L, value - now);
+            return (int) Math.min(permits, Math.max(0L, (periodNanos - backlog) / intervalNanos));
+        }
+        return (int) Math.max(0L, (long) Math.floor(permits - estimate(value, now)));
+    }
+
+    /**
+     * Get the time until the next permit becomes available
+     * @param uuid The player UUID
+     * @return Wait time in milliseconds, or 0 if a permit is available now
+     */
+    public long getWaitMs(@NotNull UUID uuid) {
+        AtomicLong state = states.get(uuid);
+        if (state == null) return 0L;
+
+        long now = System.nanoTime() - base;
+        long value = state.get();
+        long waitNanos = mode == Mode.TOKEN_BUCKET ? value + intervalNanos - periodNanos - now : windowWait(value, now);
+        return waitNanos <= 0 ? 0L : TimeUnit.NANOSECONDS.toMillis(waitNanos) + 1;
+    }
+
+    /**
+     * Reset a player's limit
+     * @param uuid The player UUID
+     */
+    public void reset(@NotNull UUID uuid) {
+        states.remove(uuid);
+    }
+
+    /**
+     * Reset every player's limit
+     */
+    public void resetAll() {
+        states.clear();
+    }
+
+    /**
+     * Drop state for players that are back at their full allowance
+     * @return Number of removed entries
+     */
+    public int sweep() {
+        // A check racing the removal may update the dropped state; since only entries at their
+        // full allowance are removed, that costs at most one extra permit
+        long now = System.nanoTime() - base;
+        int before = states.size();
+        states.values().removeIf(state -> idle(state.get(), now));
+        return Math.max(0, before - states.size());
+    }
+
+    /**
+     * Get the limiter key
+     * @return The key
+     */
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Get the limiting algorithm
+     * @return The mode
+     */
+    @NotNull
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Get the permits per period
+     * @return The permits
+     */
+    public int getPermits() {
+        return permits;
+    }
+
+    /**
+     * Get the period
+     * @return The period in milliseconds
+     */
+    public long getPeriodMs() {
+        return TimeUnit.NANOSECONDS.toMillis(periodNanos);
+    }
+
+    @NotNull
+    private AtomicLong state(@NotNull UUID uuid) {
+        AtomicLong state = states.get(uuid);
+        if (state != null) return state;
+        // Token bucket: "never used" is any time in the past; sliding window: empty counts
+        return states.computeIfAbsent(uuid, u -> new AtomicLong(mode == Mode.TOKEN_BUCKET ? Long.MIN_VALUE / 2 : 0L));
+    }
+
+    // ==================== Token Bucket ====================
+
+    // State: the theoretical time at which the bucket is full again (GCRA). Each permit pushes
+    // it forward by one interval; a request is refused if that would exceed one period ahead.
+
+    private boolean acquireBucket(@NotNull AtomicLong state, long now, int count) {
+        long cost = intervalNanos * count;
+        while (true) {
+            long full = state.get();
+            long next = Math.max(full, now) + cost;
+            if (next - now > periodNanos) return false;
+            if (state.compareAndSet(full, next)) return true;
+        }
+    }
+
+    // ==================== Sliding Window ====================
+
+    // State: window index (high 32 bits) | current count (16 bits) | previous count (16 bits)
+
+    private boolean acquireWindow(@NotNull AtomicLong state, long now, int count) {
+        int window = (int) (now / periodNanos);
+        while (true) {
+            long value = state.get();
+            long rolled = roll(value, window);
+            double used = estimate(rolled, now);
+            if (used + count > permits) return false;
+
+            long next = rolled + ((long) count << 16);
+            if (state.compareAndSet(value, next)) return true;
+        }
+    }
+
+    private long roll(long value, int window) {
+        int stateWindow = (int) (value >>> 32);
+        int current = (int) ((value >>> 16) & COUNT_MASK);
+
+        if (stateWindow == window) return value;
+        int previous = window - stateWindow == 1 ? current : 0;
+        return ((long) window << 32) | previous;
+    }
+
+    private double estimate(long value, long now) {
+        int window = (int) (now / periodNanos);
+        long rolled = roll(value, window);
+        int current = (int) ((rolled >>> 16) & COUNT_MASK);
+        int previous = (int) (rolled & COUNT_MASK);
+
+        double elapsed = (double) (now % periodNanos) / periodNanos;
+        return previous * (1.0 - elapsed) + current;
+    }
+
+    private long windowWait(long value, long now) {
+        int window = (int) (now / periodNanos);
+        long rolled = roll(value, window);
+        int current = (int) ((rolled >>> 16) & COUNT_MASK);
+        int previous = (int) (rolled & COUNT_MASK);
+        long windowEnd = (long) (window + 1) * periodNanos - now;
+
+        if (current + 1 > permits) {
+            // Wait for the next window, then until the current count has decayed enough
+            double fraction = 1.0 - (double) (permits - 1) / current;
+            return windowEnd + (long) (Math.max(0.0, fraction) * periodNanos);
+        }
+        if (previous == 0) return 0L;
+
+        double fraction = 1.0 - (double) (permits - current - 1) / previous;
+        long target = (long) (Math.max(0.0, fraction) * periodNanos);
+        return target - now % periodNanos;
+    }
+
+    private boolean idle(long value, long now) {
+        if (mode == Mode.TOKEN_BUCKET) return value <= now;
+        int window = (int) (now / periodNanos);
+        return window - (int) (value >>> 32) > 1;
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter{" + key + ", " + mode + ", " + permits + "/" + getPeriodMs() + "ms}";
+    }
+}
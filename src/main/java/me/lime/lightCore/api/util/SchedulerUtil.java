@@ -1,25 +1,91 @@
 package me.lime.lightCore.api.util;
 
+import me.lime.lightCore.api.logging.ConsoleLogger;
 import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
 /**
  * Utility class for scheduling tasks
+ *
+ * Besides plain BukkitTasks it hosts a shared timing wheel ({@link #later}, {@link #repeating},
+ * {@link #laterAsync}, {@link #repeatingAsync}) on which any number of delayed and periodic jobs
+ * share one repeating task. Sync and async entries live on separate wheels.
+ * Tasks scheduled while {@link TaskProfiler} is enabled are timed per call site.
  */
 public final class SchedulerUtil {
 
     private SchedulerUtil() {}
 
     private static JavaPlugin plugin;
+    private static volatile ExecutorService virtualExecutor;
+
+    private static final TimingWheel SYNC_WHEEL = new TimingWheel("SchedulerUtil");
+    private static final TimingWheel ASYNC_WHEEL = new TimingWheel("SchedulerUtil-async");
+    // Timers of other LightCore utilities, left alone by cancelAll()
+    private static final TimingWheel INTERNAL_WHEEL = new TimingWheel("SchedulerUtil-internal");
+    private static volatile BukkitTask wheelTask;
+
+    private static final Queue<QueuedTask> SYNC_QUEUE = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger queuedSync = new AtomicInteger();
+    private static volatile boolean batchedSync = false;
+    private static volatile long syncBudgetNanos;
+
+    private static final Map<Object, Pending> DEBOUNCED = new ConcurrentHashMap<>();
+    private static final Map<Object, Pending> THROTTLED = new ConcurrentHashMap<>();
+    private static final Map<Object, Pending> COALESCED = new ConcurrentHashMap<>();
+
+    private static final Executor MAIN_THREAD = task -> {
+        if (Bukkit.isPrimaryThread()) {
+            task.run();
+        } else {
+            sync(task);
+        }
+    };
 
     /**
-     * Initialize with your plugin instance
+     * Initialize with your plugin instance (call in onEnable)
      * @param pluginInstance Your plugin
      */
     public static void init(@NotNull JavaPlugin pluginInstance) {
         plugin = pluginInstance;
+        // Created up front so saves started in onDisable still have an executor
+        if (pluginInstance.isEnabled()) startVirtual();
+    }
+
+    /**
+     * Check if SchedulerUtil has been initialized
+     * @return true if init was called
+     */
+    public static boolean isInitialized() {
+        return plugin != null;
+    }
+
+    @NotNull
+    static JavaPlugin plugin() {
+        checkInit();
+        return plugin;
     }
 
     private static void checkInit() {
@@ -31,14 +97,143 @@ public final class SchedulerUtil {
     // ==================== Sync ====================
 
     /**
-     * Run a task on the main thread
+     * Run a task on the main thread on the next tick
+     * (queued and run by a shared task if {@link #enableBatchedSync()} was called)
      * @param task The task to run
      * @return The BukkitTask
      */
     @NotNull
     public static BukkitTask sync(@NotNull Runnable task) {
         checkInit();
-        return Bukkit.getScheduler().runTask(plugin, task);
+        if (batchedSync) {
+            QueuedTask queued = new QueuedTask(TaskProfiler.wrap(task));
+            SYNC_QUEUE.add(queued);
+            queuedSync.incrementAndGet();
+            ensureWheel();
+            return queued;
+        }
+        return Bukkit.getScheduler().runTask(plugin, TaskProfiler.wrap(task));
+    }
+
+    /**
+     * Route {@link #sync(Runnable)} through one queue drained by a single task per tick instead
+     * of creating a BukkitTask per call. Jobs run in submission order.
+     *
+     * The returned tasks are not known to Bukkit's scheduler: {@link BukkitTask#getTaskId()} is -1,
+     * so {@code cancelTask(id)}, {@code isQueued(id)} and {@code isCurrentlyRunning(id)} do not work
+     * for them. Cancel them with {@link BukkitTask#cancel()} and check {@link BukkitTask#isCancelled()}.
+     */
+    public static void enableBatchedSync() {
+        enableBatchedSync(0);
+    }
+
+    /**
+     * Route {@link #sync(Runnable)} through one queue drained by a single task per tick
+     * @param budgetMs Maximum milliseconds spent draining per tick, the rest rolls over to the
+     *                 next tick (0 = drain everything queued before the tick)
+     */
+    public static void enableBatchedSync(double budgetMs) {
+        syncBudgetNanos = (long) (Math.max(0, budgetMs) * TimeUnit.MILLISECONDS.toNanos(1));
+        batchedSync = true;
+    }
+
+    /**
+     * Go back to one BukkitTask per {@link #sync(Runnable)} call (queued jobs still run)
+     */
+    public static void disableBatchedSync() {
+        batchedSync = false;
+    }
+
+    /**
+     * Check if sync calls are batched
+     * @return true if batched
+     */
+    public static boolean isBatchedSync() {
+        return batchedSync;
+    }
+
+    /**
+     * Get the number of batched sync jobs waiting for the next tick
+     * @return Queued job count
+     */
+    public static int getQueuedSyncCount() {
+        return queuedSync.get();
+    }
+
+    private static void drainSync() {
+        int count = queuedSync.get();
+        if (count == 0) return;
+
+        // Only jobs queued before this drain, so jobs queueing more jobs can't starve the tick
+        long budget = syncBudgetNanos;
+        long deadline = budget > 0 ? System.nanoTime() + budget : 0;
+        for (int i = 0; i < count; i++) {
+            QueuedTask job = SYNC_QUEUE.poll();
+            if (job == null) return;
+            queuedSync.decrementAndGet();
+            job.run();
+            if (budget > 0 && System.nanoTime() >= deadline) return;
+        }
+    }
+
+    /**
+     * A batched sync job, cancellable like a BukkitTask
+     */
+    static final class QueuedTask implements BukkitTask, Runnable {
+        private final Runnable task;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        private QueuedTask(@NotNull Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) return;
+            try {
+                task.run();
+            } catch (Throwable t) {
+                ConsoleLogger.error("Batched sync task threw an exception: " + t);
+                t.printStackTrace();
+            } finally {
+                done = true;
+            }
+        }
+
+        /**
+         * Check if the job has run (the stand-in for isQueued/isCurrentlyRunning, which need a task ID)
+         * @return true if it has run
+         */
+        boolean isDone() {
+            return done;
+        }
+
+        @Override
+        public int getTaskId() {
+            return -1;
+        }
+
+        @NotNull
+        @Override
+        public Plugin getOwner() {
+            return plugin;
+        }
+
+        @Override
+        public boolean isSync() {
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
     }
 
     /**
@@ -50,7 +245,7 @@ public final class SchedulerUtil {
     @NotNull
     public static BukkitTask syncLater(@NotNull Runnable task, long delayTicks) {
         checkInit();
-        return Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+        return Bukkit.getScheduler().runTaskLater(plugin, TaskProfiler.wrap(task), delayTicks);
     }
 
     /**
@@ -63,7 +258,7 @@ public final class SchedulerUtil {
     @NotNull
     public static BukkitTask syncRepeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
         checkInit();
-        return Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        return Bukkit.getScheduler().runTaskTimer(plugin, TaskProfiler.wrap(task), delayTicks, periodTicks);
     }
 
     // ==================== Async ====================
@@ -76,7 +271,7 @@ public final class SchedulerUtil {
     @NotNull
     public static BukkitTask async(@NotNull Runnable task) {
         checkInit();
-        return Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+        return Bukkit.getScheduler().runTaskAsynchronously(plugin, TaskProfiler.wrap(task));
     }
 
     /**
@@ -88,7 +283,7 @@ public final class SchedulerUtil {
     @NotNull
     public static BukkitTask asyncLater(@NotNull Runnable task, long delayTicks) {
         checkInit();
-        return Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, task, delayTicks);
+        return Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, TaskProfiler.wrap(task), delayTicks);
     }
 
     /**
@@ -101,7 +296,468 @@ public final class SchedulerUtil {
     @NotNull
     public static BukkitTask asyncRepeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
         checkInit();
-        return Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, task, delayTicks, periodTicks);
+        return Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, TaskProfiler.wrap(task), delayTicks, periodTicks);
+    }
+
+    // ==================== Shared Wheel ====================
+
+    /**
+     * Run a task on the main thread after a delay, using LightCore's shared timing wheel instead of
+     * a BukkitTask of its own. Prefer this for large numbers of short delays.
+     * @param task The task to run
+     * @param delayTicks Delay in ticks (values below 1 run on the next tick)
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public static TimingWheel.Handle later(@NotNull Runnable task, long delayTicks) {
+        ensureWheel();
+        return SYNC_WHEEL.schedule(TaskProfiler.wrap(task), delayTicks);
+    }
+
+    /**
+     * Run a repeating task on the main thread using the shared timing wheel
+     * @param task The task to run
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period between runs in ticks
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public static TimingWheel.Handle repeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        ensureWheel();
+        return SYNC_WHEEL.scheduleRepeating(TaskProfiler.wrap(task), delayTicks, periodTicks);
+    }
+
+    /**
+     * Run a task on a virtual thread after a delay, using the shared timing wheel
+     * @param task The task to run
+     * @param delayTicks Delay in ticks (values below 1 run on the next tick)
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public static TimingWheel.Handle laterAsync(@NotNull Runnable task, long delayTicks) {
+        ensureWheel();
+        return ASYNC_WHEEL.schedule(new AsyncJob(TaskProfiler.wrap(task)), delayTicks);
+    }
+
+    /**
+     * Run a repeating task on virtual threads using the shared timing wheel.
+     * A run is skipped while the previous one is still busy, so runs never overlap.
+     * @param task The task to run
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period between runs in ticks
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public static TimingWheel.Handle repeatingAsync(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        ensureWheel();
+        return ASYNC_WHEEL.scheduleRepeating(new AsyncJob(TaskProfiler.wrap(task)), delayTicks, periodTicks);
+    }
+
+    /**
+     * Get the number of pending entries on the shared wheel
+     * @return Pending sync and async entries
+     */
+    public static int getWheelSize() {
+        return SYNC_WHEEL.size() + ASYNC_WHEEL.size();
+    }
+
+    private static void ensureWheel() {
+        BukkitTask task = wheelTask;
+        if (task == null || task.isCancelled()) startWheel();
+    }
+
+    private static synchronized void startWheel() {
+        if (wheelTask != null && !wheelTask.isCancelled()) return;
+        checkInit();
+        // Not wrapped by the profiler: the wheel's own entries are profiled individually
+        wheelTask = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            drainSync();
+            INTERNAL_WHEEL.tick();
+            ASYNC_WHEEL.tick();
+            SYNC_WHEEL.tick();
+        }, 1L, 1L);
+    }
+
+    /**
+     * Schedule a timer owned by another LightCore utility on the main thread.
+     * Unlike {@link #later}, these entries survive {@link #cancelAll()}.
+     */
+    @NotNull
+    static TimingWheel.Handle internalLater(@NotNull Runnable task, long delayTicks) {
+        ensureWheel();
+        return INTERNAL_WHEEL.schedule(TaskProfiler.wrap(task), delayTicks);
+    }
+
+    /**
+     * Schedule a repeating timer owned by another LightCore utility on the main thread
+     * (survives {@link #cancelAll()})
+     */
+    @NotNull
+    static TimingWheel.Handle internalRepeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        ensureWheel();
+        return INTERNAL_WHEEL.scheduleRepeating(TaskProfiler.wrap(task), delayTicks, periodTicks);
+    }
+
+    /**
+     * Schedule a repeating timer owned by another LightCore utility on virtual threads
+     * (survives {@link #cancelAll()}, runs never overlap)
+     */
+    @NotNull
+    static TimingWheel.Handle internalRepeatingAsync(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        ensureWheel();
+        return INTERNAL_WHEEL.scheduleRepeating(new AsyncJob(TaskProfiler.wrap(task)), delayTicks, periodTicks);
+    }
+
+    /**
+     * Hands a due async wheel entry to the virtual-thread executor
+     */
+    private static final class AsyncJob implements Runnable {
+        private final Runnable task;
+        private final AtomicBoolean running = new AtomicBoolean();
+
+        private AsyncJob(@NotNull Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (!running.compareAndSet(false, true)) return;
+            try {
+                virtualExecutor().execute(this::execute);
+            } catch (RejectedExecutionException | IllegalStateException e) {
+                // Executor shut down
+                running.set(false);
+            }
+        }
+
+        private void execute() {
+            try {
+                task.run();
+            } catch (Throwable t) {
+                ConsoleLogger.error("Async wheel task threw an exception: " + t);
+                t.printStackTrace();
+            } finally {
+                running.set(false);
+            }
+        }
+    }
+
+    // ==================== Debounce / Throttle ====================
+
+    /**
+     * Run a task on the main thread once no call with the same key has happened for a delay.
+     * Each call pushes the run back; only the task of the last call runs.
+     * <pre>
+     * SchedulerUtil.debounce("config-save", 40L, config::save);
+     * </pre>
+     * @param key The key (e.g. a String or UUID)
+     * @param delayTicks Quiet period in ticks
+     * @param task The task to run
+     */
+    public static void debounce(@NotNull Object key, long delayTicks, @NotNull Runnable task) {
+        Runnable wrapped = TaskProfiler.wrap(task);
+        long delay = Math.max(1L, delayTicks);
+        while (true) {
+            Pending pending = DEBOUNCED.get(key);
+            if (pending != null) {
+                if (pending.offer(wrapped)) {
+                    pending.due = SYNC_WHEEL.currentTick() + delay;
+                    return;
+                }
+                DEBOUNCED.remove(key, pending);
+                continue;
+            }
+
+            Pending created = new Pending(wrapped);
+            created.due = SYNC_WHEEL.currentTick() + delay;
+            if (DEBOUNCED.putIfAbsent(key, created) == null) {
+                ensureWheel();
+                SYNC_WHEEL.schedule(() -> fireDebounced(key, created), delay);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Run a task on the main thread at most once per period for a key. The first call runs
+     * immediately (inline if on the main thread); calls during the period are collapsed into
+     * one run of the last task when the period ends.
+     * @param key The key (e.g. a String or UUID)
+     * @param periodTicks Minimum ticks between runs
+     * @param task The task to run
+     */
+    public static void throttle(@NotNull Object key, long periodTicks, @NotNull Runnable task) {
+        throttleWrapped(key, Math.max(1L, periodTicks), TaskProfiler.wrap(task));
+    }
+
+    /**
+     * Run a task on the main thread at most once per tick for a key. All calls before the next
+     * tick are collapsed into one run of the last task.
+     * <pre>
+     * SchedulerUtil.coalesce(player.getUniqueId(), () -> menu.refresh(player));
+     * </pre>
+     * @param key The key (e.g. a String or UUID)
+     * @param task The task to run
+     */
+    public static void coalesce(@NotNull Object key, @NotNull Runnable task) {
+        Runnable wrapped = TaskProfiler.wrap(task);
+        while (true) {
+            Pending pending = COALESCED.get(key);
+            if (pending != null) {
+                if (pending.offer(wrapped)) return;
+                COALESCED.remove(key, pending);
+                continue;
+            }
+
+            Pending created = new Pending(wrapped);
+            if (COALESCED.putIfAbsent(key, created) == null) {
+                ensureWheel();
+                SYNC_WHEEL.schedule(() -> {
+                    Runnable last = created.close();
+                    COALESCED.remove(key, created);
+                    if (last != null) last.run();
+                }, 1L);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Drop any pending debounced, throttled or coalesced run for a key
+     * @param key The key
+     */
+    public static void cancelPending(@NotNull Object key) {
+        for (Map<Object, Pending> map : List.of(DEBOUNCED, THROTTLED, COALESCED)) {
+            Pending pending = map.remove(key);
+            if (pending != null) pending.close();
+        }
+    }
+
+    private static void throttleWrapped(@NotNull Object key, long period, @NotNull Runnable wrapped) {
+        while (true) {
+            Pending window = THROTTLED.get(key);
+            if (window != null) {
+                if (window.offer(wrapped)) return;
+                THROTTLED.remove(key, window);
+                continue;
+            }
+
+            Pending created = new Pending(null);
+            if (THROTTLED.putIfAbsent(key, created) == null) {
+                ensureWheel();
+                SYNC_WHEEL.schedule(() -> {
+                    Runnable trailing = created.close();
+                    THROTTLED.remove(key, created);
+                    if (trailing != null) throttleWrapped(key, period, trailing);
+                }, period);
+
+                if (Bukkit.isPrimaryThread()) {
+                    wrapped.run();
+                } else {
+                    SYNC_WHEEL.schedule(wrapped, 1L);
+                }
+                return;
+            }
+        }
+    }
+
+    private static void fireDebounced(@NotNull Object key, @NotNull Pending pending) {
+        long remaining = pending.due - SYNC_WHEEL.currentTick();
+        if (remaining > 0 && !pending.isClosed()) {
+            SYNC_WHEEL.schedule(() -> fireDebounced(key, pending), remaining);
+            return;
+        }
+
+        Runnable last = pending.close();
+        DEBOUNCED.remove(key, pending);
+        if (last != null) last.run();
+    }
+
+    /**
+     * The latest task for a key, replaced lock-free until the entry is closed by its run
+     */
+    private static final class Pending {
+        private static final Runnable CLOSED = () -> {};
+
+        private final AtomicReference<Runnable> task;
+        private volatile long due;
+
+        private Pending(Runnable task) {
+            this.task = new AtomicReference<>(task);
+        }
+
+        private boolean offer(@NotNull Runnable next) {
+            Runnable current;
+            do {
+                current = task.get();
+                if (current == CLOSED) return false;
+            } while (!task.compareAndSet(current, next));
+            return true;
+        }
+
+        private Runnable close() {
+            Runnable last = task.getAndSet(CLOSED);
+            return last == CLOSED ? null : last;
+        }
+
+        private boolean isClosed() {
+            return task.get() == CLOSED;
+        }
+    }
+
+    // ==================== Virtual Threads ====================
+
+    /**
+     * Run a task on a virtual thread (for blocking file, database or network work).
+     * Unlike {@link #async(Runnable)} this does not occupy a thread of Bukkit's shared pool.
+     * @param task The task to run
+     * @return Completed with the result, or exceptionally if the task threw
+     */
+    @NotNull
+    public static <T> CompletableFuture<T> virtual(@NotNull Supplier<T> task) {
+        return CompletableFuture.supplyAsync(TaskProfiler.wrap(task), virtualExecutor());
+    }
+
+    /**
+     * Run a task on a virtual thread
+     * @param task The task to run
+     * @return Completed when the task has run
+     */
+    @NotNull
+    public static CompletableFuture<Void> virtual(@NotNull Runnable task) {
+        return CompletableFuture.runAsync(TaskProfiler.wrap(task), virtualExecutor());
+    }
+
+    /**
+     * Get the plugin's virtual-thread executor (created by {@link #init}, see {@link #shutdownVirtual()})
+     * @return The executor
+     * @throws IllegalStateException if the executor was shut down and the plugin is disabled
+     */
+    @NotNull
+    public static ExecutorService virtualExecutor() {
+        ExecutorService executor = virtualExecutor;
+        return executor != null ? executor : startVirtual();
+    }
+
+    /**
+     * Stop accepting virtual tasks and wait up to 5 seconds for running ones.
+     * Call this at the end of onDisable, after starting any final saves.
+     */
+    public static synchronized void shutdownVirtual() {
+        ExecutorService executor = virtualExecutor;
+        if (executor == null) return;
+        virtualExecutor = null;
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(5, TimeUnit.SECONDS)) {
+                List<Runnable> dropped = executor.shutdownNow();
+                ConsoleLogger.warn("Virtual tasks still running after 5s were interrupted"
+                        + (dropped.isEmpty() ? "" : " (" + dropped.size() + " never started)"));
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @NotNull
+    private static synchronized ExecutorService startVirtual() {
+        checkInit();
+        if (virtualExecutor != null) return virtualExecutor;
+        if (!plugin.isEnabled()) {
+            // A new executor here would never be shut down
+            throw new IllegalStateException("Cannot start virtual threads for " + plugin.getName()
+                    + ": plugin is disabled. Start final saves before SchedulerUtil.shutdownVirtual().");
+        }
+
+        virtualExecutor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name(plugin.getName() + "-virtual-", 0).factory());
+        return virtualExecutor;
+    }
+
+    // ==================== Time-Sliced Jobs ====================
+
+    /**
+     * Process a large collection on the main thread, spread over as many ticks as needed.
+     * Call {@link TimeSlicedJob.Builder#start()} on the result.
+     * <pre>
+     * SchedulerUtil.timeSliced(Bukkit.getOnlinePlayers(), p -> p.getInventory().addItem(reward))
+     *     .budget(2)
+     *     .start()
+     *     .getFuture().thenRun(() -> Bukkit.broadcastMessage("Rewards delivered"));
+     * </pre>
+     * @param work The work units
+     * @param action Called for each unit
+     * @return The job builder
+     */
+    @NotNull
+    public static <T> TimeSlicedJob.Builder<T> timeSliced(@NotNull Iterable<T> work, @NotNull Consumer<? super T> action) {
+        return TimeSlicedJob.of(work, action);
+    }
+
+    /**
+     * Process work units from an iterator on the main thread, spread over as many ticks as needed
+     * @param work The work units
+     * @param action Called for each unit
+     * @return The job builder
+     */
+    @NotNull
+    public static <T> TimeSlicedJob.Builder<T> timeSliced(@NotNull Iterator<T> work, @NotNull Consumer<? super T> action) {
+        return TimeSlicedJob.of(work, action);
+    }
+
+    /**
+     * Process work units from a spliterator on the main thread, spread over as many ticks as needed
+     * @param work The work units
+     * @param action Called for each unit
+     * @return The job builder
+     */
+    @NotNull
+    public static <T> TimeSlicedJob.Builder<T> timeSliced(@NotNull Spliterator<T> work, @NotNull Consumer<? super T> action) {
+        return TimeSlicedJob.of(work, action);
+    }
+
+    // ==================== Chains ====================
+
+    /**
+     * Get an Executor for the main thread. Tasks submitted from the main thread run inline,
+     * tasks from other threads run on the next tick.
+     * @return The main thread executor
+     */
+    @NotNull
+    public static Executor mainThreadExecutor() {
+        return MAIN_THREAD;
+    }
+
+    /**
+     * Start a chain with a value computed on a virtual thread
+     * @param task The task to run
+     * @return The chain
+     */
+    @NotNull
+    public static <T> TaskChain<T> supplyAsync(@NotNull Supplier<T> task) {
+        return new TaskChain<>(virtual(task));
+    }
+
+    /**
+     * Start a chain with a value computed on the main thread
+     * @param task The task to run
+     * @return The chain
+     */
+    @NotNull
+    public static <T> TaskChain<T> supplySync(@NotNull Supplier<T> task) {
+        return new TaskChain<>(CompletableFuture.supplyAsync(task, MAIN_THREAD));
+    }
+
+    /**
+     * Continue an existing future as a chain
+     * @param future The future
+     * @return The chain
+     */
+    @NotNull
+    public static <T> TaskChain<T> chain(@NotNull CompletableFuture<T> future) {
+        return new TaskChain<>(future);
     }
 
     // ==================== Cancel ====================
@@ -123,10 +779,29 @@ public final class SchedulerUtil {
     }
 
     /**
-     * Cancel all tasks for the plugin
+     * Cancel all work scheduled for the plugin: its BukkitTasks, entries on the shared wheel,
+     * queued batched sync jobs, pending debounce/throttle/coalesce keys and time-sliced jobs
+     * (whose futures complete as on {@link TimeSlicedJob#cancel()}).
+     * Timers that LightCore utilities keep for themselves (ActionUtil delays, cooldown expiry,
+     * quit eviction, the cooldown clock and sweeper) keep running.
      */
     public static void cancelAll() {
         checkInit();
         Bukkit.getScheduler().cancelTasks(plugin);
+        SYNC_WHEEL.clear();
+        ASYNC_WHEEL.clear();
+        // cancelTasks also stopped the wheel task itself
+        if (INTERNAL_WHEEL.size() > 0) startWheel();
+        QueuedTask queued;
+        while ((queued = SYNC_QUEUE.poll()) != null) {
+            queuedSync.decrementAndGet();
+            queued.cancel();
+        }
+        for (Map<Object, Pending> map : List.of(DEBOUNCED, THROTTLED, COALESCED)) {
+            map.values().forEach(Pending::close);
+            map.clear();
+        }
+        // Last, so their futures complete even though their wheel entries are gone
+        TimeSlicedJob.cancelAll();
     }
 }
@@ -0,0 +1,187 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Fluent async/sync pipeline on top of CompletableFuture
+ *
+ * Start one with {@link SchedulerUtil#supplyAsync} or {@link SchedulerUtil#supplySync}.
+ * "Sync" steps run on the main thread (inline if the previous step already finished there),
+ * "Async" steps on the plugin's virtual-thread executor. An exception skips the remaining
+ * steps and reaches {@link #onError(Consumer)}, {@link #onErrorSync(Consumer)} or {@link #logErrors()}.
+ *
+ * <pre>
+ * SchedulerUtil.supplyAsync(() -> database.load(uuid))
+ *     .timeout(5, TimeUnit.SECONDS)
+ *     .thenAcceptSync(data -> apply(player, data))
+ *     .onErrorSync(error -> player.sendMessage("Could not load your data"));
+ * </pre>
+ *
+ * @param <T> The result type of the current step
+ */
+public final class TaskChain<T> {
+
+    private final CompletableFuture<T> future;
+
+    TaskChain(@NotNull CompletableFuture<T> future) {
+        this.future = future;
+    }
+
+    /**
+     * Transform the result on the main thread
+     * @param function The transformation
+     * @return The next step
+     */
+    @NotNull
+    public <R> TaskChain<R> thenApplySync(@NotNull Function<? super T, ? extends R> function) {
+        return new TaskChain<>(future.thenApplyAsync(function, SchedulerUtil.mainThreadExecutor()));
+    }
+
+    /**
+     * Transform the result on a virtual thread
+     * @param function The transformation
+     * @return The next step
+     */
+    @NotNull
+    public <R> TaskChain<R> thenApplyAsync(@NotNull Function<? super T, ? extends R> function) {
+        return new TaskChain<>(future.thenApplyAsync(function, SchedulerUtil.virtualExecutor()));
+    }
+
+    /**
+     * Consume the result on the main thread
+     * @param consumer The consumer
+     * @return The next step
+     */
+    @NotNull
+    public TaskChain<Void> thenAcceptSync(@NotNull Consumer<? super T> consumer) {
+        return new TaskChain<>(future.thenAcceptAsync(consumer, SchedulerUtil.mainThreadExecutor()));
+    }
+
+    /**
+     * Consume the result on a virtual thread
+     * @param consumer The consumer
+     * @return The next step
+     */
+    @NotNull
+    public TaskChain<Void> thenAcceptAsync(@NotNull Consumer<? super T> consumer) {
+        return new TaskChain<>(future.thenAcceptAsync(consumer, SchedulerUtil.virtualExecutor()));
+    }
+
+    /**
+     * Continue with another async operation
+     * @param function Returns the next future
+     * @return The next step
+     */
+    @NotNull
+    public <R> TaskChain<R> thenCompose(@NotNull Function<? super T, ? extends CompletableFuture<R>> function) {
+        return new TaskChain<>(future.thenCompose(function));
+    }
+
+    /**
+     * Run a step on a specific executor
+     * @param function The transformation
+     * @param executor The executor
+     * @return The next step
+     */
+    @NotNull
+    public <R> TaskChain<R> thenApply(@NotNull Function<? super T, ? extends R> function, @NotNull Executor executor) {
+        return new TaskChain<>(future.thenApplyAsync(function, executor));
+    }
+
+    /**
+     * Fail with a TimeoutException if this step has not completed in time
+     * @param time The timeout
+     * @param unit The time unit
+     * @return The next step
+     */
+    @NotNull
+    public TaskChain<T> timeout(long time, @NotNull TimeUnit unit) {
+        return new TaskChain<>(future.orTimeout(time, unit));
+    }
+
+    /**
+     * Complete with a fallback value instead of failing if this step has not completed in time
+     * @param value The fallback
+     * @param time The timeout
+     * @param unit The time unit
+     * @return The next step
+     */
+    @NotNull
+    public TaskChain<T> timeout(T value, long time, @NotNull TimeUnit unit) {
+        return new TaskChain<>(future.completeOnTimeout(value, time, unit));
+    }
+
+    /**
+     * Replace a failure with a value
+     * @param function Maps the (unwrapped) exception to a result
+     * @return The next step
+     */
+    @NotNull
+    public TaskChain<T> recover(@NotNull Function<Throwable, ? extends T> function) {
+        return new TaskChain<>(future.exceptionally(error -> function.apply(unwrap(error))));
+    }
+
+    /**
+     * Handle a failure of any earlier step on the completing thread
+     * @param handler Receives the (unwrapped) exception
+     * @return The underlying future
+     */
+    @NotNull
+    public CompletableFuture<T> onError(@NotNull Consumer<Throwable> handler) {
+        future.whenComplete((result, error) -> {
+            if (error != null) handler.accept(unwrap(error));
+        });
+        return future;
+    }
+
+    /**
+     * Handle a failure of any earlier step on the main thread
+     * @param handler Receives the (unwrapped) exception
+     * @return The underlying future
+     */
+    @NotNull
+    public CompletableFuture<T> onErrorSync(@NotNull Consumer<Throwable> handler) {
+        future.whenCompleteAsync((result, error) -> {
+            if (error != null) handler.accept(unwrap(error));
+        }, SchedulerUtil.mainThreadExecutor());
+        return future;
+    }
+
+    /**
+     * End the chain, logging any failure to the console
+     * @return The underlying future
+     */
+    @NotNull
+    public CompletableFuture<T> logErrors() {
+        return onError(error -> {
+            ConsoleLogger.error("Task chain failed: " + error);
+            error.printStackTrace();
+        });
+    }
+
+    /**
+     * Get the underlying future
+     * @return The future
+     */
+    @NotNull
+    public CompletableFuture<T> toFuture() {
+        return future;
+    }
+
+    @NotNull
+    private static Throwable unwrap(@NotNull Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error;
+    }
+}
@@ -0,0 +1,494 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Scope for tasks that belong to one owner (a player, an arena, a minigame round)
+ *
+ * Tasks, futures and wheel entries started through the group are tracked and cancelled
+ * together by {@link #close()}. Finished one-shot tasks are dropped from the group right away.
+ * A group can close itself when a player quits or a world unloads.
+ *
+ * <pre>
+ * TaskGroup arena = TaskGroup.create("arena-1").closeOnUnload(arenaWorld);
+ * arena.repeating(this::tickArena, 0L, 1L);
+ * arena.later(this::endRound, 20L * 300);
+ * ...
+ * arena.close(); // cancels everything above
+ * </pre>
+ */
+public final class TaskGroup implements AutoCloseable {
+
+    private static final int PURGE_EVERY = 64;
+
+    private static final Map<UUID, TaskGroup> PLAYER_GROUPS = new ConcurrentHashMap<>();
+    private static final Map<UUID, Set<TaskGroup>> QUIT_BINDINGS = new ConcurrentHashMap<>();
+    private static final Map<UUID, Set<TaskGroup>> UNLOAD_BINDINGS = new ConcurrentHashMap<>();
+    private static Listener listener;
+
+    private final String name;
+    private final Set<Entry> entries = ConcurrentHashMap.newKeySet();
+    private final Queue<Runnable> closeHooks = new ConcurrentLinkedQueue<>();
+    private final Set<UUID> boundPlayers = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> boundWorlds = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger adds = new AtomicInteger();
+    private volatile boolean closed;
+
+    private TaskGroup(@NotNull String name) {
+        this.name = name;
+    }
+
+    /**
+     * Create a new task group
+     * @param name Name used in logs
+     * @return The group
+     */
+    @NotNull
+    public static TaskGroup create(@NotNull String name) {
+        return new TaskGroup(name);
+    }
+
+    /**
+     * Get the shared group of a player, closed automatically when they quit
+     * @param player The player
+     * @return The player's group (already closed if the player is offline)
+     */
+    @NotNull
+    public static TaskGroup forPlayer(@NotNull Player player) {
+        UUID uuid = player.getUniqueId();
+        while (true) {
+            if (!player.isOnline()) {
+                TaskGroup group = new TaskGroup(player.getName());
+                group.close();
+                return group;
+            }
+            TaskGroup group = PLAYER_GROUPS.computeIfAbsent(uuid, k -> new TaskGroup(player.getName()).closeOnQuit(player));
+            if (!group.closed) return group;
+            PLAYER_GROUPS.remove(uuid, group);
+        }
+    }
+
+    // ==================== Auto Close ====================
+
+    /**
+     * Close this group when a player quits (right away if they are already offline)
+     * @param player The player
+     * @return This group
+     */
+    @NotNull
+    public TaskGroup closeOnQuit(@NotNull Player player) {
+        bind(QUIT_BINDINGS, boundPlayers, player.getUniqueId());
+        // Checked after binding, so a quit in between is never missed
+        if (!player.isOnline()) close();
+        return this;
+    }
+
+    /**
+     * Close this group when a world unloads
+     * @param world The world
+     * @return This group
+     */
+    @NotNull
+    public TaskGroup closeOnUnload(@NotNull World world) {
+        bind(UNLOAD_BINDINGS, boundWorlds, world.getUID());
+        return this;
+    }
+
+    /**
+     * Run a callback when the group closes (immediately if it is already closed)
+     * @param hook The callback
+     * @return This group
+     */
+    @NotNull
+    public TaskGroup onClose(@NotNull Runnable hook) {
+        closeHooks.add(hook);
+        if (closed) runHooks();
+        return this;
+    }
+
+    private void bind(@NotNull Map<UUID, Set<TaskGroup>> bindings, @NotNull Set<UUID> bound, @NotNull UUID id) {
+        // One binding (and one cleanup hook) per player or world, however often this is called
+        if (!bound.add(id)) return;
+        ensureListener();
+        bindings.computeIfAbsent(id, k -> ConcurrentHashMap.newKeySet()).add(this);
+        onClose(() -> bindings.computeIfPresent(id, (k, groups) -> {
+            groups.remove(this);
+            return groups.isEmpty() ? null : groups;
+        }));
+    }
+
+    private static synchronized void ensureListener() {
+        if (listener != null) return;
+        listener = new GroupListener();
+        Bukkit.getPluginManager().registerEvents(listener, SchedulerUtil.plugin());
+    }
+
+    // ==================== Scheduling ====================
+
+    /**
+     * Run a task on the main thread
+     * @param task The task to run
+     * @return The BukkitTask
+     */
+    @NotNull
+    public BukkitTask sync(@NotNull Runnable task) {
+        Entry entry = add();
+        return entry.bind(SchedulerUtil.sync(entry.once(task)));
+    }
+
+    /**
+     * Run a task on the main thread after a delay
+     * @param task The task to run
+     * @param delayTicks Delay in ticks
+     * @return The BukkitTask
+     */
+    @NotNull
+    public BukkitTask syncLater(@NotNull Runnable task, long delayTicks) {
+        Entry entry = add();
+        return entry.bind(SchedulerUtil.syncLater(entry.once(task), delayTicks));
+    }
+
+    /**
+     * Run a repeating task on the main thread
+     * @param task The task to run
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period between runs in ticks
+     * @return The BukkitTask
+     */
+    @NotNull
+    public BukkitTask syncRepeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return add().bind(SchedulerUtil.syncRepeating(task, delayTicks, periodTicks));
+    }
+
+    /**
+     * Run a task asynchronously
+     * @param task The task to run
+     * @return The BukkitTask
+     */
+    @NotNull
+    public BukkitTask async(@NotNull Runnable task) {
+        Entry entry = add();
+        return entry.bind(SchedulerUtil.async(entry.once(task)));
+    }
+
+    /**
+     * Run a task asynchronously after a delay
+     * @param task The task to run
+     * @param delayTicks Delay in ticks
+     * @return The BukkitTask
+     */
+    @NotNull
+    public BukkitTask asyncLater(@NotNull Runnable task, long delayTicks) {
+        Entry entry = add();
+        return entry.bind(SchedulerUtil.asyncLater(entry.once(task), delayTicks));
+    }
+
+    /**
+     * Run a repeating task asynchronously
+     * @param task The task to run
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period between runs in ticks
+     * @return The BukkitTask
+     */
+    @NotNull
+    public BukkitTask asyncRepeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return add().bind(SchedulerUtil.asyncRepeating(task, delayTicks, periodTicks));
+    }
+
+    /**
+     * Run a task on the main thread after a delay using the shared timing wheel
+     * @param task The task to run
+     * @param delayTicks Delay in ticks
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public TimingWheel.Handle later(@NotNull Runnable task, long delayTicks) {
+        Entry entry = add();
+        return entry.bind(SchedulerUtil.later(entry.once(task), delayTicks));
+    }
+
+    /**
+     * Run a repeating task on the main thread using the shared timing wheel
+     * @param task The task to run
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period between runs in ticks
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public TimingWheel.Handle repeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return add().bind(SchedulerUtil.repeating(task, delayTicks, periodTicks));
+    }
+
+    /**
+     * Run a task on a virtual thread after a delay using the shared timing wheel
+     * @param task The task to run
+     * @param delayTicks Delay in ticks
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public TimingWheel.Handle laterAsync(@NotNull Runnable task, long delayTicks) {
+        Entry entry = add();
+        return entry.bind(SchedulerUtil.laterAsync(entry.once(task), delayTicks));
+    }
+
+    /**
+     * Run a repeating task on virtual threads using the shared timing wheel
+     * @param task The task to run
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period between runs in ticks
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public TimingWheel.Handle repeatingAsync(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return add().bind(SchedulerUtil.repeatingAsync(task, delayTicks, periodTicks));
+    }
+
+    /**
+     * Run a task on a virtual thread. Closing the group cancels the returned future
+     * (the running task itself is not interrupted).
+     * @param task The task to run
+     * @return Completed with the result
+     */
+    @NotNull
+    public <T> CompletableFuture<T> virtual(@NotNull Supplier<T> task) {
+        return track(SchedulerUtil.virtual(task));
+    }
+
+    /**
+     * Run a task on a virtual thread
+     * @param task The task to run
+     * @return Completed when the task has run
+     */
+    @NotNull
+    public CompletableFuture<Void> virtual(@NotNull Runnable task) {
+        return track(SchedulerUtil.virtual(task));
+    }
+
+    /**
+     * Start a time-sliced job in this group
+     * @param job The job builder
+     * @return The running job
+     */
+    @NotNull
+    public <T> TimeSlicedJob<T> start(@NotNull TimeSlicedJob.Builder<T> job) {
+        TimeSlicedJob<T> started = job.start();
+        Entry entry = add();
+        entry.bind(started);
+        started.getFuture().whenComplete((result, error) -> entry.done());
+        return started;
+    }
+
+    // ==================== Tracking ====================
+
+    /**
+     * Track a task created elsewhere
+     * @param task The task
+     * @return The same task
+     */
+    @NotNull
+    public BukkitTask track(@NotNull BukkitTask task) {
+        return add().bind(task);
+    }
+
+    /**
+     * Track a wheel entry created elsewhere
+     * @param handle The handle
+     * @return The same handle
+     */
+    @NotNull
+    public TimingWheel.Handle track(@NotNull TimingWheel.Handle handle) {
+        return add().bind(handle);
+    }
+
+    /**
+     * Track a future; closing the group cancels it
+     * @param future The future
+     * @return The same future
+     */
+    @NotNull
+    public <F extends CompletableFuture<?>> F track(@NotNull F future) {
+        Entry entry = add();
+        entry.bind(future);
+        future.whenComplete((result, error) -> entry.done());
+        return future;
+    }
+
+    /**
+     * Get the group name
+     * @return The name
+     */
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Get the number of tracked tasks that may still run
+     * @return Active entry count
+     */
+    public int getActiveCount() {
+        entries.removeIf(Entry::isFinished);
+        return entries.size();
+    }
+
+    /**
+     * Check if the group was closed
+     * @return true if closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Cancel every tracked task and run the close callbacks. Tasks scheduled through a
+     * closed group are cancelled immediately.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+
+        for (Entry entry : entries) {
+            entry.cancel();
+        }
+        entries.clear();
+        runHooks();
+    }
+
+    private void runHooks() {
+        Runnable hook;
+        while ((hook = closeHooks.poll()) != null) {
+            try {
+                hook.run();
+            } catch (Throwable t) {
+                ConsoleLogger.error("Close callback of task group '" + name + "' threw an exception: " + t);
+                t.printStackTrace();
+            }
+        }
+    }
+
+    @NotNull
+    private Entry add() {
+        if ((adds.incrementAndGet() & (PURGE_EVERY - 1)) == 0) {
+            // Drop entries cancelled or finished outside the group
+            entries.removeIf(Entry::isFinished);
+        }
+        Entry entry = new Entry();
+        entries.add(entry);
+        return entry;
+    }
+
+    /**
+     * A tracked task, future or wheel entry. One-shot tasks run through the entry so it can
+     * leave the group when done.
+     */
+    private final class Entry implements Runnable, TaskProfiler.Profiled {
+        private volatile Object target;
+        private Runnable task;
+
+        @NotNull
+        private <T> T bind(@NotNull T target) {
+            this.target = target;
+            if (closed) cancel();
+            return target;
+        }
+
+        @NotNull
+        private Runnable once(@NotNull Runnable task) {
+            // Profile the caller's task here so it keeps its own call site
+            this.task = TaskProfiler.wrap(task);
+            return this;
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } finally {
+                done();
+            }
+        }
+
+        private void done() {
+            entries.remove(this);
+        }
+
+        private void cancel() {
+            Object current = target;
+            if (current instanceof BukkitTask task) {
+                task.cancel();
+            } else if (current instanceof TimingWheel.Handle handle) {
+                handle.cancel();
+            } else if (current instanceof TimeSlicedJob<?> job) {
+                job.cancel();
+            } else if (current instanceof Future<?> future) {
+                future.cancel(true);
+            }
+        }
+
+        private boolean isFinished() {
+            Object current = target;
+            if (current instanceof SchedulerUtil.QueuedTask queued) {
+                // Batched sync job: unknown to Bukkit's scheduler
+                return queued.isCancelled() || queued.isDone();
+            } else if (current instanceof BukkitTask task) {
+                return task.isCancelled() || (!Bukkit.getScheduler().isQueued(task.getTaskId())
+                        && !Bukkit.getScheduler().isCurrentlyRunning(task.getTaskId()));
+            } else if (current instanceof TimingWheel.Handle handle) {
+                return handle.isCancelled() || handle.isDone();
+            } else if (current instanceof TimeSlicedJob<?> job) {
+                return job.isDone();
+            } else if (current instanceof Future<?> future) {
+                return future.isDone();
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Closes groups bound to a quitting player or an unloading world
+     */
+    private static final class GroupListener implements Listener {
+
+        @EventHandler(priority = EventPriority.MONITOR)
+        public void onQuit(@NotNull PlayerQuitEvent event) {
+            UUID uuid = event.getPlayer().getUniqueId();
+            PLAYER_GROUPS.remove(uuid);
+            closeAll(QUIT_BINDINGS.remove(uuid));
+        }
+
+        @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+        public void onUnload(@NotNull WorldUnloadEvent event) {
+            closeAll(UNLOAD_BINDINGS.remove(event.getWorld().getUID()));
+        }
+
+        private static void closeAll(Set<TaskGroup> groups) {
+            if (groups == null) return;
+            for (TaskGroup group : List.copyOf(groups)) {
+                group.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Execution-time profiler for tasks scheduled through {@link SchedulerUtil}
+ *
+ * While enabled, scheduled tasks are wrapped and timed per call site. Lambdas are attributed to
+ * the line that scheduled them (captured once per lambda class with a StackWalker), other
+ * runnables to their class. Runs over the slow threshold are counted and logged at most once per
+ * site per stats window, and main-thread ticks in which LightCore tasks used more than the tick
+ * threshold are logged with their worst site.
+ * Costs a single volatile read per scheduled task while disabled.
+ */
+public final class TaskProfiler {
+
+    private TaskProfiler() {}
+
+    private static final Set<String> SKIPPED = Set.of(
+            SchedulerUtil.class.getName(), TaskProfiler.class.getName(), TaskChain.class.getName(),
+            TaskGroup.class.getName());
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private static final Map<String, Site> SITES = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, String> LABELS = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled = false;
+    private static volatile int sampleEvery = 1;
+    private static volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(5);
+    private static volatile long tickThresholdNanos = TimeUnit.MILLISECONDS.toNanos(20);
+    private static volatile long windowNanos = TimeUnit.SECONDS.toNanos(60);
+
+    // Main-thread tick accounting, only touched by the main thread
+    private static int currentTick = -1;
+    private static long tickNanos;
+    private static long tickWorstNanos;
+    private static String tickWorst;
+    private static final LongAdder TICK_OVERRUNS = new LongAdder();
+
+    /**
+     * Enable profiling of every task scheduled from now on
+     */
+    public static void enable() {
+        enable(1);
+    }
+
+    /**
+     * Enable profiling
+     * @param sampleEvery Profile one in every N scheduled tasks (1 = profile everything)
+     */
+    public static void enable(int sampleEvery) {
+        TaskProfiler.sampleEvery = Math.max(1, sampleEvery);
+        enabled = true;
+    }
+
+    /**
+     * Disable profiling of newly scheduled tasks (recorded data is kept until {@link #reset()})
+     */
+    public static void disable() {
+        enabled = false;
+    }
+
+    /**
+     * Check if profiling is enabled
+     * @return true if enabled
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Set the run time after which a task is flagged as slow
+     * @param millis Threshold in milliseconds
+     */
+    public static void setSlowThreshold(long millis) {
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Get the slow task threshold
+     * @return Threshold in milliseconds
+     */
+    public static long getSlowThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos);
+    }
+
+    /**
+     * Set the main-thread time per tick after which the tick is flagged as an overrun
+     * @param millis Threshold in milliseconds
+     */
+    public static void setTickThreshold(long millis) {
+        tickThresholdNanos = TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Get the tick overrun threshold
+     * @return Threshold in milliseconds
+     */
+    public static long getTickThreshold() {
+        return TimeUnit.NANOSECONDS.toMillis(tickThresholdNanos);
+    }
+
+    /**
+     * Set the window used by {@link #topOffenders(int)}
+     * @param seconds Window length in seconds
+     */
+    public static void setWindow(long seconds) {
+        windowNanos = TimeUnit.SECONDS.toNanos(Math.max(1L, seconds));
+    }
+
+    /**
+     * Get the offender window
+     * @return Window length in seconds
+     */
+    public static long getWindow() {
+        return TimeUnit.NANOSECONDS.toSeconds(windowNanos);
+    }
+
+    /**
+     * Get statistics per call site
+     * @return Unmodifiable view of site statistics
+     */
+    @NotNull
+    public static Map<String, Site> getSites() {
+        return Collections.unmodifiableMap(SITES);
+    }
+
+    /**
+     * Get statistics for a call site
+     * @param site The site label (e.g. "MyPlugin.onEnable:42")
+     * @return The statistics, or null if never recorded
+     */
+    @Nullable
+    public static Site getSite(@NotNull String site) {
+        return SITES.get(site);
+    }
+
+    /**
+     * Get the call sites that used the most time recently (the current and the previous window)
+     * @param limit Maximum number of entries
+     * @return Sites sorted by recent time, highest first
+     */
+    @NotNull
+    public static List<Map.Entry<String, Site>> topOffenders(int limit) {
+        long epoch = epoch();
+        List<Map.Entry<String, Site>> entries = new ArrayList<>(SITES.entrySet());
+        entries.removeIf(e -> e.getValue().recentNanos(epoch) == 0);
+        entries.sort(Comparator.comparingLong((Map.Entry<String, Site> e) -> e.getValue().recentNanos(epoch)).reversed());
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * Get the number of ticks flagged as overruns
+     * @return Overrun count
+     */
+    public static long getTickOverruns() {
+        return TICK_OVERRUNS.sum();
+    }
+
+    /**
+     * Clear all recorded data
+     */
+    public static void reset() {
+        SITES.clear();
+        TICK_OVERRUNS.reset();
+    }
+
+    // ==================== Wrapping ====================
+
+    /**
+     * Wrap a task for profiling if enabled and sampled
+     */
+    @NotNull
+    static Runnable wrap(@NotNull Runnable task) {
+        if (!enabled || task instanceof Profiled || !sample()) return task;
+        return new ProfiledTask(task, site(task));
+    }
+
+    /**
+     * Wrap a supplier for profiling if enabled and sampled
+     */
+    @NotNull
+    static <T> Supplier<T> wrap(@NotNull Supplier<T> task) {
+        if (!enabled || !sample()) return task;
+        Site site = site(task);
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return task.get();
+            } finally {
+                record(site, System.nanoTime() - start);
+            }
+        };
+    }
+
+    private static boolean sample() {
+        int every = sampleEvery;
+        return every == 1 || ThreadLocalRandom.current().nextInt(every) == 0;
+    }
+
+    @NotNull
+    private static Site site(@NotNull Object task) {
+        Class<?> type = task.getClass();
+        String label = LABELS.get(type);
+        if (label == null) {
+            label = type.isHidden() ? callSite() : type.getName();
+            LABELS.putIfAbsent(type, label);
+        }
+        return SITES.computeIfAbsent(label, Site::new);
+    }
+
+    @NotNull
+    private static String callSite() {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> !SKIPPED.contains(outerClass(frame.getClassName())))
+                .findFirst()
+                .map(frame -> {
+                    String className = frame.getClassName();
+                    return className.substring(className.lastIndexOf('.') + 1)
+                            + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+                })
+                .orElse("unknown"));
+    }
+
+    @NotNull
+    private static String outerClass(@NotNull String className) {
+        int nested = className.indexOf('$');
+        return nested < 0 ? className : className.substring(0, nested);
+    }
+
+    /**
+     * Marks a task that was already wrapped, or deliberately left unwrapped, by the profiler
+     */
+    interface Profiled {}
+
+    /**
+     * A task timed into its call site
+     */
+    private static final class ProfiledTask implements Runnable, Profiled {
+        private final Runnable task;
+        private final Site site;
+
+        private ProfiledTask(@NotNull Runnable task, @NotNull Site site) {
+            this.task = task;
+            this.site = site;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                task.run();
+            } finally {
+                record(site, System.nanoTime() - start);
+            }
+        }
+    }
+
+    // ==================== Recording ====================
+
+    private static void record(@NotNull Site site, long nanos) {
+        long epoch = epoch();
+        site.record(nanos, epoch);
+
+        if (nanos >= slowThresholdNanos) {
+            site.slow.increment();
+            // A site that is always slow would otherwise flood the console, so log once per window
+            long logged = site.loggedEpoch.get();
+            if (logged != epoch && site.loggedEpoch.compareAndSet(logged, epoch)) {
+                long total = site.slow.sum();
+                long skipped = total - site.loggedSlow - 1;
+                site.loggedSlow = total;
+                ConsoleLogger.warn("Slow task from " + site.name + " took " + TimingHistogram.format(nanos)
+                        + " on " + Thread.currentThread().getName()
+                        + (skipped > 0 ? " (" + skipped + " more slow runs since last report)" : ""));
+            }
+        }
+
+        if (Bukkit.isPrimaryThread()) {
+            recordTick(site, nanos);
+        }
+    }
+
+    private static void recordTick(@NotNull Site site, long nanos) {
+        int tick = Bukkit.getCurrentTick();
+        if (tick != currentTick) {
+            currentTick = tick;
+            tickNanos = 0;
+            tickWorstNanos = 0;
+            tickWorst = null;
+        }
+
+        boolean over = tickNanos < tickThresholdNanos;
+        tickNanos += nanos;
+        if (nanos > tickWorstNanos) {
+            tickWorstNanos = nanos;
+            tickWorst = site.name;
+        }
+
+        // Report once per tick, when the threshold is first crossed
+        if (over && tickNanos >= tickThresholdNanos) {
+            TICK_OVERRUNS.increment();
+            ConsoleLogger.warn("LightCore tasks used " + TimingHistogram.format(tickNanos) + " in tick " + tick
+                    + " (worst: " + tickWorst + " " + TimingHistogram.format(tickWorstNanos) + ")");
+        }
+    }
+
+    private static long epoch() {
+        return System.nanoTime() / windowNanos;
+    }
+
+    /**
+     * Statistics for one call site
+     */
+    public static final class Site {
+        private final String name;
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong loggedEpoch = new AtomicLong(-1);
+        private volatile long loggedSlow;
+        private final TimingHistogram timings = new TimingHistogram();
+        private final LongAdder current = new LongAdder();
+        private volatile long epoch;
+        private volatile long previous;
+
+        private Site(@NotNull String name) {
+            this.name = name;
+        }
+
+        private void record(long nanos, long now) {
+            if (epoch != now) roll(now);
+            timings.record(nanos);
+            current.add(nanos);
+        }
+
+        private synchronized void roll(long now) {
+            if (epoch == now) return;
+            long finished = current.sumThenReset();
+            previous = now - epoch == 1 ? finished : 0;
+            epoch = now;
+        }
+
+        private long recentNanos(long now) {
+            if (epoch != now) roll(now);
+            return current.sum() + previous;
+        }
+
+        /**
+         * Get the call site label
+         * @return The label
+         */
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Get the number of runs flagged as slow
+         * @return Slow run count
+         */
+        public long getSlowCount() {
+            return slow.sum();
+        }
+
+        /**
+         * Get the run time histogram
+         * @return The histogram
+         */
+        @NotNull
+        public TimingHistogram getTimings() {
+            return timings;
+        }
+
+        /**
+         * Get the time used in the current and the previous window
+         * @return Recent time in nanoseconds
+         */
+        public long getRecentNanos() {
+            return recentNanos(epoch());
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Main-thread job that processes work units across ticks within a per-tick time budget
+ *
+ * Each tick it handles as many units as fit in the budget. In adaptive mode (the default) the
+ * budget shrinks to half of the tick's spare time when the server is busy, so a long job never
+ * pushes MSPT over 50. Create one with {@link SchedulerUtil#timeSliced(Iterable, Consumer)}.
+ *
+ * @param <T> The work unit type
+ */
+public final class TimeSlicedJob<T> implements Runnable {
+
+    private static final double TICK_MS = 50.0;
+
+    private static final Set<TimeSlicedJob<?>> ACTIVE = ConcurrentHashMap.newKeySet();
+
+    private final Spliterator<T> work;
+    private final Consumer<? super T> action;
+    private final long budgetNanos;
+    private final boolean adaptive;
+    private final long total;
+    private final Consumer<TimeSlicedJob<T>> progressListener;
+    private final CompletableFuture<Long> future = new CompletableFuture<>();
+    private final Consumer<T> step;
+
+    private volatile long processed;
+    private volatile boolean paused;
+    private volatile boolean cancelled;
+    private TimingWheel.Handle task;
+
+    private TimeSlicedJob(@NotNull Builder<T> builder) {
+        this.work = builder.work;
+        this.action = builder.action;
+        this.budgetNanos = builder.budgetNanos;
+        this.adaptive = builder.adaptive;
+        this.total = builder.total >= 0 ? builder.total : work.getExactSizeIfKnown();
+        this.progressListener = builder.progressListener;
+        this.step = this::process;
+    }
+
+    /**
+     * Create a builder for a collection or other iterable
+     * @param work The work units
+     * @param action Called on the main thread for each unit
+     * @return A new Builder
+     */
+    @NotNull
+    public static <T> Builder<T> of(@NotNull Iterable<T> work, @NotNull Consumer<? super T> action) {
+        return new Builder<>(work.spliterator(), action);
+    }
+
+    /**
+     * Create a builder for an iterator (progress is unknown unless {@link Builder#total(long)} is set)
+     * @param work The work units
+     * @param action Called on the main thread for each unit
+     * @return A new Builder
+     */
+    @NotNull
+    public static <T> Builder<T> of(@NotNull Iterator<T> work, @NotNull Consumer<? super T> action) {
+        return new Builder<>(Spliterators.spliteratorUnknownSize(work, Spliterator.ORDERED), action);
+    }
+
+    /**
+     * Create a builder for a spliterator
+     * @param work The work units
+     * @param action Called on the main thread for each unit
+     * @return A new Builder
+     */
+    @NotNull
+    public static <T> Builder<T> of(@NotNull Spliterator<T> work, @NotNull Consumer<? super T> action) {
+        return new Builder<>(work, action);
+    }
+
+    // ==================== Control ====================
+
+    /**
+     * Stop processing until {@link #resume()} is called
+     */
+    public void pause() {
+        paused = true;
+    }
+
+    /**
+     * Continue a paused job
+     */
+    public void resume() {
+        paused = false;
+    }
+
+    /**
+     * Stop the job. The future completes with the number of units processed so far.
+     */
+    public void cancel() {
+        if (cancelled || future.isDone()) return;
+        cancelled = true;
+        SchedulerUtil.mainThreadExecutor().execute(() -> finish(null));
+    }
+
+    /**
+     * Check if the job is paused
+     * @return true if paused
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Check if the job was cancelled
+     * @return true if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Check if the job has finished (all units processed, cancelled or failed)
+     * @return true if done
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Get the number of processed units
+     * @return Processed count
+     */
+    public long getProcessed() {
+        return processed;
+    }
+
+    /**
+     * Get the total number of units
+     * @return Total count, or -1 if unknown
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * Get the progress
+     * @return Progress from 0.0 to 1.0, or -1 if the total is unknown
+     */
+    public double getProgress() {
+        if (future.isDone() && !cancelled) return 1.0;
+        if (total < 0) return -1.0;
+        return total == 0 ? 1.0 : Math.min(1.0, processed / (double) total);
+    }
+
+    /**
+     * Get a future completed with the number of processed units, or exceptionally if a unit threw
+     * @return The completion future
+     */
+    @NotNull
+    public CompletableFuture<Long> getFuture() {
+        return future;
+    }
+
+    // ==================== Execution ====================
+
+    @Override
+    public void run() {
+        if (future.isDone()) return;
+        if (paused || cancelled) return;
+
+        long deadline = System.nanoTime() + currentBudget();
+        long before = processed;
+        boolean more = true;
+
+        try {
+            do {
+                more = work.tryAdvance(step);
+            } while (more && !paused && !cancelled && System.nanoTime() < deadline);
+        } catch (Throwable t) {
+            ConsoleLogger.error("Time-sliced job failed after " + processed + " units: " + t);
+            t.printStackTrace();
+            finish(t);
+            return;
+        }
+
+        if (!more) {
+            finish(null);
+        } else if (progressListener != null && processed != before) {
+            progressListener.accept(this);
+        }
+    }
+
+    private void process(T unit) {
+        action.accept(unit);
+        processed++;
+    }
+
+    private long currentBudget() {
+        if (!adaptive) return budgetNanos;
+
+        double spareMs = TICK_MS - Bukkit.getAverageTickTime();
+        // Keep making some progress even when the server is already behind
+        long floor = Math.max(TimeUnit.MICROSECONDS.toNanos(250), budgetNanos / 10);
+        long spare = (long) (spareMs * 0.5 * TimeUnit.MILLISECONDS.toNanos(1));
+        return Math.max(floor, Math.min(budgetNanos, spare));
+    }
+
+    private void start() {
+        ACTIVE.add(this);
+        task = SchedulerUtil.repeating(this, 1L, 1L);
+    }
+
+    /**
+     * Cancel every running job (from {@link SchedulerUtil#cancelAll()}, which drops their wheel entries)
+     */
+    static void cancelAll() {
+        for (TimeSlicedJob<?> job : ACTIVE) {
+            job.cancel();
+        }
+    }
+
+    private void finish(@Nullable Throwable error) {
+        ACTIVE.remove(this);
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        if (progressListener != null && error == null) progressListener.accept(this);
+
+        if (error != null) {
+            future.completeExceptionally(error);
+        } else {
+            future.complete(processed);
+        }
+    }
+
+    /**
+     * Builder for time-sliced jobs
+     */
+    public static final class Builder<T> {
+        private final Spliterator<T> work;
+        private final Consumer<? super T> action;
+        private long budgetNanos = TimeUnit.MILLISECONDS.toNanos(5);
+        private boolean adaptive = true;
+        private long total = -1;
+        private Consumer<TimeSlicedJob<T>> progressListener;
+
+        private Builder(@NotNull Spliterator<T> work, @NotNull Consumer<? super T> action) {
+            this.work = work;
+            this.action = action;
+        }
+
+        /**
+         * Set the maximum time spent per tick (default 5ms)
+         * @param budgetMs Milliseconds per tick
+         * @return This builder
+         */
+        @NotNull
+        public Builder<T> budget(double budgetMs) {
+            this.budgetNanos = Math.max(1L, (long) (budgetMs * TimeUnit.MILLISECONDS.toNanos(1)));
+            return this;
+        }
+
+        /**
+         * Shrink the budget when the server has little spare tick time (default true)
+         * @param adaptive Whether to adapt to MSPT
+         * @return This builder
+         */
+        @NotNull
+        public Builder<T> adaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+            return this;
+        }
+
+        /**
+         * Set the total unit count used for progress when the source size is unknown
+         * @param total Total units
+         * @return This builder
+         */
+        @NotNull
+        public Builder<T> total(long total) {
+            this.total = total;
+            return this;
+        }
+
+        /**
+         * Called on the main thread after each tick that made progress, and once when done
+         * @param listener The progress listener
+         * @return This builder
+         */
+        @NotNull
+        public Builder<T> onProgress(@NotNull Consumer<TimeSlicedJob<T>> listener) {
+            this.progressListener = listener;
+            return this;
+        }
+
+        /**
+         * Start the job on the next tick
+         * @return The running job
+         */
+        @NotNull
+        public TimeSlicedJob<T> start() {
+            TimeSlicedJob<T> job = new TimeSlicedJob<>(this);
+            job.start();
+            return job;
+        }
+    }
+}
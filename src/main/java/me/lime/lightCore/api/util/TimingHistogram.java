@@ -0,0 +1,128 @@
+package me.lime.lightCore.api.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of nanosecond timings using power-of-two buckets
+ *
+ * Recording is a couple of atomic adds, so it is safe to use from hot paths and any thread.
+ * Percentiles are approximate (upper bound of the matching bucket).
+ */
+public final class TimingHistogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Record a timing
+     * @param nanos Duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+
+        buckets.incrementAndGet(nanos == 0 ? 0 : BUCKETS - 1 - Long.numberOfLeadingZeros(nanos));
+        count.increment();
+        total.add(nanos);
+
+        long current;
+        while (nanos > (current = max.get())) {
+            if (max.compareAndSet(current, nanos)) break;
+        }
+    }
+
+    /**
+     * Get the number of recorded timings
+     * @return The count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Get the sum of all recorded timings
+     * @return Total in nanoseconds
+     */
+    public long getTotalNanos() {
+        return total.sum();
+    }
+
+    /**
+     * Get the mean recorded timing
+     * @return Mean in nanoseconds, or 0 if empty
+     */
+    public long getMeanNanos() {
+        long c = count.sum();
+        return c == 0 ? 0L : total.sum() / c;
+    }
+
+    /**
+     * Get the largest recorded timing
+     * @return Max in nanoseconds
+     */
+    public long getMaxNanos() {
+        return max.get();
+    }
+
+    /**
+     * Get an approximate percentile
+     * @param percentile Percentile between 0 and 100
+     * @return Upper bound of the bucket holding the percentile, in nanoseconds
+     */
+    public long getPercentileNanos(double percentile) {
+        long c = count.sum();
+        if (c == 0) return 0L;
+
+        long threshold = (long) Math.ceil(c * MathUtil.clamp(percentile, 0.0, 100.0) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= threshold && seen > 0) {
+                return Math.min(i >= 62 ? Long.MAX_VALUE : (2L << i) - 1, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Reset all recorded timings
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0L);
+        }
+        count.reset();
+        total.reset();
+        max.set(0L);
+    }
+
+    /**
+     * Format a nanosecond duration for display (e.g. "1.25ms")
+     * @param nanos Duration in nanoseconds
+     * @return The formatted duration
+     */
+    public static String format(long nanos) {
+        if (nanos < 1_000L) return nanos + "ns";
+        if (nanos < 1_000_000L) return String.format("%.1fµs", nanos / 1_000.0);
+        if (nanos < 1_000_000_000L) return String.format("%.2fms", nanos / 1_000_000.0);
+        return String.format("%.2fs", nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Summarise this histogram on a single line
+     * @return e.g. "count=12 mean=0.20ms p95=0.52ms max=1.03ms"
+     */
+    @Override
+    public String toString() {
+        return "count=" + getCount()
+                + " mean=" + format(getMeanNanos())
+                + " p95=" + format(getPercentileNanos(95))
+                + " max=" + format(getMaxNanos());
+    }
+}
@@ -0,0 +1,300 @@
+package me.lime.lightCore.api.util;
+
+import me.lime.lightCore.api.logging.ConsoleLogger;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hierarchical timing wheel measured in ticks
+ *
+ * Four levels of 64 slots each cover ~16.7 million ticks before entries are re-cascaded.
+ * Scheduling and cancelling are O(1) and a tick only touches the current slot, so any
+ * number of pending entries can share one driver task calling {@link #tick()}.
+ *
+ * Entries can be scheduled and cancelled from any thread; {@link #tick()} must always
+ * be called from the same thread (usually the main thread).
+ */
+public final class TimingWheel {
+
+    private static final int LEVELS = 4;
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final long MAX_DELTA = (1L << (LEVELS * BITS)) - 1;
+
+    private final Entry[][] slots = new Entry[LEVELS][SLOTS];
+    private final Queue<Entry> incoming = new ConcurrentLinkedQueue<>();
+    private final Queue<Entry> cancelled = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final String name;
+
+    private volatile Thread owner;
+    // Written by the ticking thread only, volatile so currentTick() is fresh on any thread
+    private volatile long now;
+
+    /**
+     * Create a new timing wheel
+     * @param name Name used when logging task failures
+     */
+    public TimingWheel(@NotNull String name) {
+        this.name = name;
+        for (int level = 0; level < LEVELS; level++) {
+            for (int slot = 0; slot < SLOTS; slot++) {
+                Entry head = new Entry(null, 0, 0);
+                head.prev = head;
+                head.next = head;
+                slots[level][slot] = head;
+            }
+        }
+    }
+
+    /**
+     * Schedule a task
+     * @param task The task to run
+     * @param delayTicks Delay in ticks (values below 1 run on the next tick)
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public Handle schedule(@NotNull Runnable task, long delayTicks) {
+        return enqueue(new Entry(task, Math.max(1, delayTicks), 0));
+    }
+
+    /**
+     * Schedule a repeating task
+     * @param task The task to run
+     * @param delayTicks Initial delay in ticks
+     * @param periodTicks Period between runs in ticks
+     * @return A handle that can cancel the task
+     */
+    @NotNull
+    public Handle scheduleRepeating(@NotNull Runnable task, long delayTicks, long periodTicks) {
+        return enqueue(new Entry(task, Math.max(1, delayTicks), Math.max(1, periodTicks)));
+    }
+
+    /**
+     * Advance the wheel by one tick and run every task that is due
+     */
+    public void tick() {
+        owner = Thread.currentThread();
+        drain();
+
+        long tick = now + 1;
+        now = tick;
+        for (int level = LEVELS - 1; level > 0; level--) {
+            if ((tick & ((1L << (level * BITS)) - 1)) == 0) {
+                cascade(level, (int) ((tick >>> (level * BITS)) & MASK));
+            }
+        }
+
+        Entry head = slots[0][(int) (tick & MASK)];
+        Entry first = head.next;
+        head.next = head;
+        head.prev = head;
+
+        // Detach first so tasks cancelling later entries of this slot don't break the walk
+        for (Entry e = first; e != head; e = e.next) {
+            e.prev = null;
+        }
+
+        Entry entry = first;
+        while (entry != head) {
+            Entry next = entry.next;
+            entry.next = null;
+            fire(entry);
+            entry = next;
+        }
+    }
+
+    /**
+     * Get the number of ticks this wheel has advanced (safe to call from any thread)
+     * @return The current tick
+     */
+    public long currentTick() {
+        return now;
+    }
+
+    /**
+     * Get the number of pending entries
+     * @return Pending entry count
+     */
+    public int size() {
+        return size.get();
+    }
+
+    /**
+     * Cancel every pending entry
+     */
+    public void clear() {
+        Entry entry;
+        while ((entry = incoming.poll()) != null) {
+            entry.state = Entry.CANCELLED;
+        }
+        cancelled.clear();
+
+        for (Entry[] level : slots) {
+            for (Entry head : level) {
+                for (Entry e = head.next; e != head; e = e.next) {
+                    e.state = Entry.CANCELLED;
+                }
+                head.next = head;
+                head.prev = head;
+            }
+        }
+        size.set(0);
+    }
+
+    @NotNull
+    private Handle enqueue(@NotNull Entry entry) {
+        size.incrementAndGet();
+        incoming.add(entry);
+        return entry;
+    }
+
+    private void drain() {
+        Entry entry;
+        while ((entry = incoming.poll()) != null) {
+            if (entry.state == Entry.CANCELLED) continue;
+            entry.deadline = now + entry.delay;
+            place(entry);
+        }
+        while ((entry = cancelled.poll()) != null) {
+            unlink(entry);
+        }
+    }
+
+    private void fire(@NotNull Entry entry) {
+        if (entry.state == Entry.CANCELLED) return;
+
+        try {
+            entry.task.run();
+        } catch (Throwable t) {
+            ConsoleLogger.error("Task in timing wheel '" + name + "' threw an exception: " + t);
+            t.printStackTrace();
+        }
+
+        if (entry.period > 0) {
+            if (entry.state == Entry.CANCELLED) return;
+            entry.deadline = now + entry.period;
+            place(entry);
+            return;
+        }
+
+        synchronized (entry) {
+            if (entry.state != Entry.PENDING) return;
+            entry.state = Entry.DONE;
+        }
+        size.decrementAndGet();
+    }
+
+    private void cascade(int level, int slot) {
+        Entry head = slots[level][slot];
+        Entry entry = head.next;
+        head.next = head;
+        head.prev = head;
+
+        while (entry != head) {
+            Entry next = entry.next;
+            entry.prev = null;
+            entry.next = null;
+            if (entry.state != Entry.CANCELLED) {
+                place(entry);
+            }
+            entry = next;
+        }
+    }
+
+    private void place(@NotNull Entry entry) {
+        long delta = Math.min(entry.deadline - now, MAX_DELTA);
+        long target = now + Math.max(0, delta);
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << ((level + 1) * BITS))) {
+            level++;
+        }
+
+        Entry head = slots[level][(int) ((target >>> (level * BITS)) & MASK)];
+        entry.prev = head.prev;
+        entry.next = head;
+        head.prev.next = entry;
+        head.prev = entry;
+    }
+
+    private static void unlink(@NotNull Entry entry) {
+        if (entry.prev == null) return;
+        entry.prev.next = entry.next;
+        entry.next.prev = entry.prev;
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    /**
+     * Handle for a scheduled wheel entry
+     */
+    public interface Handle {
+
+        /**
+         * Cancel the entry. Safe to call from any thread and more than once.
+         */
+        void cancel();
+
+        /**
+         * Check if the entry was cancelled
+         * @return true if cancelled
+         */
+        boolean isCancelled();
+
+        /**
+         * Check if a one-shot entry has already run
+         * @return true if done
+         */
+        boolean isDone();
+    }
+
+    private final class Entry implements Handle {
+        static final int PENDING = 0;
+        static final int DONE = 1;
+        static final int CANCELLED = 2;
+
+        final Runnable task;
+        final long delay;
+        final long period;
+        volatile int state = PENDING;
+        long deadline;
+        Entry prev;
+        Entry next;
+
+        Entry(Runnable task, long delay, long period) {
+            this.task = task;
+            this.delay = delay;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (this) {
+                if (state != PENDING) return;
+                state = CANCELLED;
+            }
+            size.decrementAndGet();
+
+            if (Thread.currentThread() == owner) {
+                unlink(this);
+            } else {
+                cancelled.add(this);
+            }
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return state == DONE;
+        }
+    }
+}
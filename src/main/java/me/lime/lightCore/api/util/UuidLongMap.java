@@ -0,0 +1,241 @@
+package me.lime.lightCore.api.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * Open-addressing map from UUID to primitive long
+ *
+ * Keys and values live unboxed in one long[] (most, least, value per slot), so lookups
+ * allocate nothing. Uses linear probing with backward-shift deletion (no tombstones).
+ * The nil UUID marks empty slots and is stored separately.
+ *
+ * Not thread-safe. Because the backing array is replaced in a single write, {@link #get}
+ * never fails under a concurrent writer and can be used inside a StampedLock optimistic read.
+ */
+final class UuidLongMap {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] table;
+    private int size;
+    private boolean hasNil;
+    private long nilValue;
+
+    UuidLongMap() {
+        table = new long[MIN_CAPACITY * 3];
+    }
+
+    int size() {
+        return size + (hasNil ? 1 : 0);
+    }
+
+    /**
+     * Get a value
+     * @return The value, or def if absent
+     */
+    long get(long msb, long lsb, long def) {
+        if (msb == 0 && lsb == 0) return hasNil ? nilValue : def;
+
+        long[] t = table;
+        int mask = t.length / 3 - 1;
+        for (int i = index(msb, lsb, mask); ; i = (i + 1) & mask) {
+            int s = i * 3;
+            long m = t[s];
+            long l = t[s + 1];
+            if (m == msb && l == lsb) return t[s + 2];
+            if (m == 0 && l == 0) return def;
+        }
+    }
+
+    boolean contains(long msb, long lsb) {
+        if (msb == 0 && lsb == 0) return hasNil;
+        return find(msb, lsb) >= 0;
+    }
+
+    void put(long msb, long lsb, long value) {
+        if (msb == 0 && lsb == 0) {
+            hasNil = true;
+            nilValue = value;
+            return;
+        }
+
+        long[] t = table;
+        int mask = t.length / 3 - 1;
+        int i = index(msb, lsb, mask);
+        for (; !empty(t, i); i = (i + 1) & mask) {
+            if (t[i * 3] == msb && t[i * 3 + 1] == lsb) {
+                t[i * 3 + 2] = value;
+                return;
+            }
+        }
+
+        t[i * 3 + 2] = value;
+        t[i * 3 + 1] = lsb;
+        t[i * 3] = msb;
+
+        int capacity = mask + 1;
+        if (++size > (capacity >> 1) + (capacity >> 2)) {
+            rehash(capacity << 1);
+        }
+    }
+
+    boolean remove(long msb, long lsb) {
+        if (msb == 0 && lsb == 0) {
+            boolean had = hasNil;
+            hasNil = false;
+            return had;
+        }
+
+        int slot = find(msb, lsb);
+        if (slot < 0) return false;
+        delete(slot);
+        return true;
+    }
+
+    /**
+     * Remove every entry whose value matches
+     * @return Number of removed entries
+     */
+    int removeIf(@NotNull LongPredicate predicate) {
+        return removeIf(predicate, null);
+    }
+
+    /**
+     * Remove every entry whose value matches, reporting each removed entry
+     * @return Number of removed entries
+     */
+    int removeIf(@NotNull LongPredicate predicate, @Nullable Visitor removedVisitor) {
+        int removed = 0;
+        if (hasNil && predicate.test(nilValue)) {
+            if (removedVisitor != null) removedVisitor.visit(0L, 0L, nilValue);
+            hasNil = false;
+            removed++;
+        }
+        if (size == 0) return removed;
+
+        long[] t = table;
+        int capacity = t.length / 3;
+        int mask = capacity - 1;
+
+        // Start right after an empty slot so no cluster wraps around the walk
+        int start = 0;
+        while (!empty(t, start)) start++;
+
+        int i = (start + 1) & mask;
+        for (int visited = 0; visited < capacity; visited++) {
+            while (!empty(t, i) && predicate.test(t[i * 3 + 2])) {
+                if (removedVisitor != null) removedVisitor.visit(t[i * 3], t[i * 3 + 1], t[i * 3 + 2]);
+                delete(i);
+                removed++;
+            }
+            i = (i + 1) & mask;
+        }
+
+        if (capacity > MIN_CAPACITY && size < capacity >> 3) {
+            rehash(Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, size)) << 2));
+        }
+        return removed;
+    }
+
+    /**
+     * Visit every entry
+     */
+    void forEach(@NotNull Visitor visitor) {
+        if (hasNil) visitor.visit(0L, 0L, nilValue);
+
+        long[] t = table;
+        for (int i = 0, capacity = t.length / 3; i < capacity; i++) {
+            if (!empty(t, i)) visitor.visit(t[i * 3], t[i * 3 + 1], t[i * 3 + 2]);
+        }
+    }
+
+    /**
+     * Replace every value in place
+     */
+    void replaceAll(@NotNull LongUnaryOperator operator) {
+        if (hasNil) nilValue = operator.applyAsLong(nilValue);
+
+        long[] t = table;
+        for (int i = 0, capacity = t.length / 3; i < capacity; i++) {
+            if (!empty(t, i)) t[i * 3 + 2] = operator.applyAsLong(t[i * 3 + 2]);
+        }
+    }
+
+    void clear() {
+        table = new long[MIN_CAPACITY * 3];
+        size = 0;
+        hasNil = false;
+    }
+
+    private int find(long msb, long lsb) {
+        long[] t = table;
+        int mask = t.length / 3 - 1;
+        for (int i = index(msb, lsb, mask); !empty(t, i); i = (i + 1) & mask) {
+            if (t[i * 3] == msb && t[i * 3 + 1] == lsb) return i;
+        }
+        return -1;
+    }
+
+    private void delete(int slot) {
+        long[] t = table;
+        int mask = t.length / 3 - 1;
+        int hole = slot;
+        int i = (slot + 1) & mask;
+
+        while (!empty(t, i)) {
+            int home = index(t[i * 3], t[i * 3 + 1], mask);
+            // Move the entry back unless its home slot lies cyclically in (hole, i]
+            if (((i - home) & mask) >= ((i - hole) & mask)) {
+                t[hole * 3 + 2] = t[i * 3 + 2];
+                t[hole * 3 + 1] = t[i * 3 + 1];
+                t[hole * 3] = t[i * 3];
+                hole = i;
+            }
+            i = (i + 1) & mask;
+        }
+
+        t[hole * 3] = 0L;
+        t[hole * 3 + 1] = 0L;
+        t[hole * 3 + 2] = 0L;
+        size--;
+    }
+
+    private void rehash(int capacity) {
+        long[] old = table;
+        long[] t = new long[capacity * 3];
+        int mask = capacity - 1;
+
+        for (int j = 0, oldCapacity = old.length / 3; j < oldCapacity; j++) {
+            if (empty(old, j)) continue;
+
+            int i = index(old[j * 3], old[j * 3 + 1], mask);
+            while (!empty(t, i)) i = (i + 1) & mask;
+
+            t[i * 3] = old[j * 3];
+            t[i * 3 + 1] = old[j * 3 + 1];
+            t[i * 3 + 2] = old[j * 3 + 2];
+        }
+        table = t;
+    }
+
+    private static boolean empty(long[] t, int slot) {
+        return t[slot * 3] == 0L && t[slot * 3 + 1] == 0L;
+    }
+
+    private static int index(long msb, long lsb, int mask) {
+        long h = msb ^ lsb;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+
+    @FunctionalInterface
+    interface Visitor {
+        void visit(long msb, long lsb, long value);
+    }
+}